@@ -0,0 +1,55 @@
+package com.taskmaster.benchmark;
+
+import com.taskmaster.model.Task;
+import com.taskmaster.service.TaskBuscaService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BuscaBenchmark {
+    
+    private TaskBuscaService taskBuscaService;
+    private Pageable primeiraPagina;
+    private String termoRaro;
+    
+    @Setup
+    public void setUp(TaskDatabaseState banco) {
+        taskBuscaService = banco.bean(TaskBuscaService.class);
+        taskBuscaService.reconstruir();
+        primeiraPagina = PageRequest.of(0, 10);
+        termoRaro = "tarefa " + (banco.linhas / 2);
+    }
+    
+    @Benchmark
+    public Page<Task> buscarTermoComum() {
+        return taskBuscaService.buscar("tarefa", null, primeiraPagina);
+    }
+    
+    @Benchmark
+    public Page<Task> buscarTermoRaro() {
+        return taskBuscaService.buscar(termoRaro, null, primeiraPagina);
+    }
+    
+    @Benchmark
+    public Page<Task> buscarComCategoria() {
+        return taskBuscaService.buscar("tarefa", "Categoria 7", primeiraPagina);
+    }
+}
@@ -0,0 +1,160 @@
+package com.taskmaster.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Gerador de carga HTTP com um cliente por virtual thread, usado para comparar os modos de execução
+ * da aplicação (threads de plataforma x virtual threads) e os perfis de persistência.
+ * Argumentos: URL base, número de clientes, duração em segundos, maior ID existente e mistura
+ * ({@code leitura}, o padrão, ou {@code crud}: 50% buscas por ID, 20% criações, 20% atualizações e 10% exclusões).
+ * Com {@code -Dcarga.resultado=<arquivo>}, a rodada também é acrescentada ao arquivo como uma linha de tabela
+ * Markdown, identificada por {@code -Dcarga.rotulo}, para que rodadas com configurações diferentes fiquem lado a lado.
+ */
+public class CargaHttp {
+    
+    private static final Pattern ID_CRIADO = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    
+    public static void main(String[] args) throws Exception {
+        String url = args.length > 0 ? args[0] : "http://localhost:8080";
+        int clientes = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int segundos = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        long maiorId = args.length > 3 ? Long.parseLong(args[3]) : 1000;
+        boolean crud = args.length > 4 && args[4].equalsIgnoreCase("crud");
+        
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        AtomicLong erros = new AtomicLong();
+        long[][] latencias = new long[clientes][];
+        long fim = System.nanoTime() + Duration.ofSeconds(segundos).toNanos();
+        
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clientes; c++) {
+                int cliente = c;
+                executor.submit(() -> {
+                    long[] medidas = new long[1024];
+                    int total = 0;
+                    ArrayDeque<Long> criadas = new ArrayDeque<>();
+                    while (System.nanoTime() < fim) {
+                        HttpRequest request = crud
+                                ? proximaOperacao(url, maiorId, criadas)
+                                : HttpRequest.newBuilder(URI.create(url + proximoCaminho(maiorId)))
+                                        .timeout(Duration.ofSeconds(30))
+                                        .build();
+                        long inicio = System.nanoTime();
+                        try {
+                            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                            if (response.statusCode() >= 400) {
+                                erros.incrementAndGet();
+                            } else if (response.statusCode() == 201) {
+                                Matcher id = ID_CRIADO.matcher(response.body());
+                                if (id.find()) {
+                                    criadas.addLast(Long.parseLong(id.group(1)));
+                                }
+                            }
+                        } catch (Exception e) {
+                            erros.incrementAndGet();
+                        }
+                        if (total == medidas.length) {
+                            medidas = Arrays.copyOf(medidas, total * 2);
+                        }
+                        medidas[total++] = System.nanoTime() - inicio;
+                    }
+                    latencias[cliente] = Arrays.copyOf(medidas, total);
+                });
+            }
+        }
+        
+        long[] todas = Arrays.stream(latencias).flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("clientes=%d requisicoes=%d req/s=%.0f p50=%.1fms p99=%.1fms max=%.1fms erros=%d%n",
+                clientes, todas.length, todas.length / (double) segundos,
+                percentil(todas, 0.50), percentil(todas, 0.99), percentil(todas, 1.0), erros.get());
+        
+        String resultado = System.getProperty("carga.resultado");
+        if (resultado != null) {
+            registrar(Path.of(resultado), String.format("| %s | %s | %d | %.0f | %.1f ms | %.1f ms | %d |",
+                    System.getProperty("carga.rotulo", url), crud ? "crud" : "leitura", clientes,
+                    todas.length / (double) segundos, percentil(todas, 0.50), percentil(todas, 0.99), erros.get()));
+        }
+    }
+    
+    private static void registrar(Path arquivo, String linha) throws Exception {
+        if (arquivo.getParent() != null) {
+            Files.createDirectories(arquivo.getParent());
+        }
+        if (Files.notExists(arquivo)) {
+            Files.writeString(arquivo, "| Rodada | Mistura | Clientes | req/s | p50 | p99 | Erros |\n|---|---|---|---|---|---|---|\n",
+                    StandardCharsets.UTF_8);
+        }
+        Files.writeString(arquivo, linha + "\n", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+    }
+    
+    private static HttpRequest proximaOperacao(String url, long maiorId, ArrayDeque<Long> criadas) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int sorteio = random.nextInt(10);
+        if (sorteio >= 5 && criadas.isEmpty()) {
+            sorteio = 5;
+        }
+        
+        HttpRequest.Builder builder = HttpRequest.newBuilder().timeout(Duration.ofSeconds(30));
+        if (sorteio < 5) {
+            return builder.uri(URI.create(url + "/tasks/" + (1 + random.nextLong(maiorId)))).GET().build();
+        }
+        if (sorteio < 7) {
+            return builder.uri(URI.create(url + "/tasks"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(corpoTarefa(random)))
+                    .build();
+        }
+        if (sorteio < 9) {
+            return builder.uri(URI.create(url + "/tasks/" + criadas.peekLast()))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(corpoTarefa(random)))
+                    .build();
+        }
+        return builder.uri(URI.create(url + "/tasks/" + criadas.pollFirst())).DELETE().build();
+    }
+    
+    private static String corpoTarefa(ThreadLocalRandom random) {
+        int n = random.nextInt(1_000_000);
+        return "{\"titulo\":\"Carga " + n + "\",\"descricao\":\"Tarefa gerada pela carga " + n
+                + "\",\"categoria\":\"Categoria " + random.nextInt(20) + "\",\"dataLimite\":\""
+                + LocalDate.now().plusDays(1 + random.nextInt(365)) + "\"}";
+    }
+    
+    private static String proximoCaminho(long maiorId) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextInt(4) == 0) {
+            return "/tasks?categoria=Categoria%20" + random.nextInt(20) + "&page=" + random.nextInt(10) + "&size=10";
+        }
+        return "/tasks/" + (1 + random.nextLong(maiorId));
+    }
+    
+    private static double percentil(long[] ordenadas, double percentil) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int indice = (int) Math.ceil(percentil * ordenadas.length) - 1;
+        return ordenadas[Math.max(indice, 0)] / 1_000_000.0;
+    }
+}
+
@@ -0,0 +1,51 @@
+package com.taskmaster.benchmark;
+
+import com.taskmaster.dto.TaskDTO;
+import com.taskmaster.model.Task;
+import com.taskmaster.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversaoBenchmark {
+    
+    private TaskService taskService;
+    private TaskDTO dto;
+    private Task task;
+    
+    @Setup
+    public void setUp() {
+        taskService = new TaskService(null, null, null, null);
+        dto = new TaskDTO("Tarefa", "Descrição da tarefa", "Trabalho", LocalDate.now().plusDays(1));
+        task = taskService.convertToEntity(dto);
+        task.setId(1L);
+        task.setVersao(0L);
+    }
+    
+    @Benchmark
+    public Task convertToEntity() {
+        return taskService.convertToEntity(dto);
+    }
+    
+    @Benchmark
+    public TaskDTO convertToDTO() {
+        return taskService.convertToDTO(task);
+    }
+}
+
@@ -0,0 +1,93 @@
+package com.taskmaster.benchmark;
+
+import com.taskmaster.controller.TaskController;
+import com.taskmaster.dto.TaskDTO;
+import com.taskmaster.exception.ErrorResponse;
+import com.taskmaster.exception.GlobalExceptionHandler;
+import com.taskmaster.exception.ResourceNotFoundException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do caminho de erro, da exceção lançada à resposta do {@code GlobalExceptionHandler}.
+ * As exceções são lançadas a {@code profundidade} quadros da chamada do benchmark, como no controller
+ * atrás dos filtros do Tomcat e do Spring; {@code naoEncontradoComPilha} reproduz o caminho anterior,
+ * com uma exceção que captura a pilha.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErroBenchmark {
+    
+    @Param({"10", "150"})
+    public int profundidade;
+    
+    private GlobalExceptionHandler handler;
+    private MethodParameter parametro;
+    
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        handler = new GlobalExceptionHandler();
+        parametro = new MethodParameter(TaskController.class.getMethod("criar", TaskDTO.class), 0);
+    }
+    
+    @Benchmark
+    public ResponseEntity<ErrorResponse> naoEncontrado() {
+        try {
+            lancar(profundidade, false);
+        } catch (ResourceNotFoundException e) {
+            return handler.handleResourceNotFoundException(e);
+        }
+        throw new AssertionError();
+    }
+    
+    @Benchmark
+    public ResponseEntity<ErrorResponse> naoEncontradoComPilha() {
+        try {
+            lancar(profundidade, true);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse("NOT_FOUND", e.getMessage()));
+        }
+        throw new AssertionError();
+    }
+    
+    @Benchmark
+    public ResponseEntity<ErrorResponse> validacao() {
+        BeanPropertyBindingResult resultado = new BeanPropertyBindingResult(new TaskDTO(), "taskDTO");
+        resultado.addError(new FieldError("taskDTO", "titulo", "O título é obrigatório"));
+        return handler.handleValidationException(new MethodArgumentNotValidException(parametro, resultado));
+    }
+    
+    private static void lancar(int quadros, boolean comPilha) {
+        if (quadros > 0) {
+            lancar(quadros - 1, comPilha);
+            return;
+        }
+        long id = 999;
+        if (comPilha) {
+            throw new IllegalStateException("Tarefa não encontrada com ID: " + id);
+        }
+        throw ResourceNotFoundException.tarefa(id);
+    }
+}
+
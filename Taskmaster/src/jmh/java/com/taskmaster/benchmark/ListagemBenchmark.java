@@ -0,0 +1,76 @@
+package com.taskmaster.benchmark;
+
+import com.taskmaster.dto.CursorPage;
+import com.taskmaster.model.Task;
+import com.taskmaster.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListagemBenchmark {
+    
+    private TaskService taskService;
+    private Pageable primeiraPaginaPorDataLimite;
+    private Pageable primeiraPaginaPorTitulo;
+    private Pageable ultimaPaginaPorDataLimite;
+    private String cursorDaUltimaPagina;
+    
+    @Setup
+    public void setUp(TaskDatabaseState banco) {
+        taskService = banco.bean(TaskService.class);
+        primeiraPaginaPorDataLimite = PageRequest.of(0, 10, Sort.by("dataLimite"));
+        primeiraPaginaPorTitulo = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "titulo"));
+        // a paginação por offset recusa páginas além da janela máxima; a mais funda permitida é a última dela
+        ultimaPaginaPorDataLimite = PageRequest.of(Math.min(banco.linhas, TaskService.JANELA_MAXIMA) / 10 - 1, 10,
+                Sort.by("dataLimite"));
+        // posição da tarefa que antecede as 10 últimas, no formato do cursor do TaskService
+        String posicao = banco.bean(JdbcTemplate.class).queryForObject(
+                "SELECT data_limite || ':' || id FROM tasks ORDER BY data_limite, id OFFSET ? ROWS FETCH FIRST 1 ROW ONLY",
+                String.class, banco.linhas - 11);
+        cursorDaUltimaPagina = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(posicao.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    @Benchmark
+    public Page<Task> listarPorDataLimite() {
+        return taskService.listarTarefas(primeiraPaginaPorDataLimite);
+    }
+    
+    @Benchmark
+    public Page<Task> listarPorTituloDecrescente() {
+        return taskService.listarTarefas(primeiraPaginaPorTitulo);
+    }
+    
+    @Benchmark
+    public Page<Task> listarUltimaPagina() {
+        return taskService.listarTarefas(ultimaPaginaPorDataLimite);
+    }
+    
+    @Benchmark
+    public CursorPage<Task> listarUltimaPaginaPorCursor() {
+        return taskService.listarTarefasPorCursor(cursorDaUltimaPagina, 10, null);
+    }
+}
+
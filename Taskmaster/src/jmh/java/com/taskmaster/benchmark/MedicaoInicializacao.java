@@ -0,0 +1,119 @@
+package com.taskmaster.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Mede o tempo até a primeira resposta e a memória residente (RSS) da aplicação recém-iniciada.
+ * A cada rodada inicia o comando informado, consulta {@code GET /tasks?size=1} a cada 10 ms até receber 200,
+ * lê o VmRSS do processo em {@code /proc} (apenas Linux) e encerra o processo.
+ * Argumentos: URL base, número de rodadas e o comando que inicia a aplicação, que deve ser o próprio {@code java}
+ * (e não um script) para que o RSS medido seja o da JVM.
+ * Com {@code -Dinicializacao.resultado=<arquivo>}, as medianas também são acrescentadas ao arquivo como uma linha
+ * de tabela Markdown, identificada por {@code -Dinicializacao.rotulo}, para comparar o jar comum, o AOT e o AOT
+ * com CDS lado a lado.
+ */
+public class MedicaoInicializacao {
+    
+    private static final Duration LIMITE = Duration.ofMinutes(2);
+    
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("Uso: MedicaoInicializacao <url> <rodadas> <comando...>");
+            System.exit(1);
+        }
+        String url = args[0];
+        int rodadas = Integer.parseInt(args[1]);
+        List<String> comando = List.of(Arrays.copyOfRange(args, 2, args.length));
+        
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(200))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url + "/tasks?size=1"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        
+        long[] tempos = new long[rodadas];
+        long[] rss = new long[rodadas];
+        for (int i = 0; i < rodadas; i++) {
+            Process processo = new ProcessBuilder(comando)
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            long inicio = System.nanoTime();
+            try {
+                aguardarPrimeiraResposta(client, request, processo, inicio);
+                tempos[i] = System.nanoTime() - inicio;
+                rss[i] = rssEmKb(processo.pid());
+            } finally {
+                processo.destroy();
+                processo.waitFor();
+            }
+            System.out.printf("rodada=%d primeira-resposta=%.0fms rss=%dMB%n", i + 1, tempos[i] / 1_000_000.0, rss[i] / 1024);
+        }
+        
+        Arrays.sort(tempos);
+        Arrays.sort(rss);
+        System.out.printf("rodadas=%d mediana primeira-resposta=%.0fms rss=%dMB%n",
+                rodadas, tempos[rodadas / 2] / 1_000_000.0, rss[rodadas / 2] / 1024);
+        
+        String resultado = System.getProperty("inicializacao.resultado");
+        if (resultado != null) {
+            registrar(Path.of(resultado), String.format("| %s | %d | %.0f ms | %d MB |",
+                    System.getProperty("inicializacao.rotulo", String.join(" ", comando)), rodadas,
+                    tempos[rodadas / 2] / 1_000_000.0, rss[rodadas / 2] / 1024));
+        }
+    }
+    
+    private static void registrar(Path arquivo, String linha) throws IOException {
+        if (arquivo.getParent() != null) {
+            Files.createDirectories(arquivo.getParent());
+        }
+        if (Files.notExists(arquivo)) {
+            Files.writeString(arquivo, "| Modo | Rodadas | Primeira resposta (mediana) | RSS (mediana) |\n|---|---|---|---|\n",
+                    StandardCharsets.UTF_8);
+        }
+        Files.writeString(arquivo, linha + "\n", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+    }
+    
+    private static void aguardarPrimeiraResposta(HttpClient client, HttpRequest request, Process processo, long inicio)
+            throws InterruptedException {
+        while (System.nanoTime() - inicio < LIMITE.toNanos()) {
+            if (!processo.isAlive()) {
+                throw new IllegalStateException("A aplicação encerrou antes de responder (código " + processo.exitValue() + ")");
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // ainda não está aceitando conexões
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("A aplicação não respondeu em " + LIMITE.toSeconds() + " segundos");
+    }
+    
+    private static long rssEmKb(long pid) throws IOException {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (!Files.exists(status)) {
+            return 0;
+        }
+        return Files.readAllLines(status).stream()
+                .filter(linha -> linha.startsWith("VmRSS:"))
+                .map(linha -> linha.replaceAll("\\D", ""))
+                .mapToLong(Long::parseLong)
+                .findFirst()
+                .orElse(0);
+    }
+}
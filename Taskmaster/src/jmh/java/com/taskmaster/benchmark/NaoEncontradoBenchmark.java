@@ -0,0 +1,52 @@
+package com.taskmaster.benchmark;
+
+import com.taskmaster.model.Task;
+import com.taskmaster.repository.TaskRepository;
+import com.taskmaster.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Busca por um ID inexistente: pelo {@code TaskService}, que guarda a ausência no cache, e direto no
+ * repositório, como era feito a cada requisição antes do cache negativo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NaoEncontradoBenchmark {
+    
+    private TaskService taskService;
+    private TaskRepository taskRepository;
+    private Long inexistente;
+    
+    @Setup
+    public void setUp(TaskDatabaseState banco) {
+        taskService = banco.bean(TaskService.class);
+        taskRepository = banco.bean(TaskRepository.class);
+        inexistente = (long) banco.linhas * 10;
+    }
+    
+    @Benchmark
+    public Optional<Task> comCacheNegativo() {
+        return taskService.buscarPorId(inexistente);
+    }
+    
+    @Benchmark
+    public Optional<Task> semCache() {
+        return taskRepository.findById(inexistente);
+    }
+}
@@ -0,0 +1,56 @@
+package com.taskmaster.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converte o resultado do JMH ({@code -rf json}, gravado pelo perfil {@code benchmarks} em
+ * {@code target/jmh-result.json}) em uma tabela Markdown, no formato das tabelas do README.
+ * Argumentos: arquivo de resultado do JMH, arquivo Markdown de destino e rótulo da rodada. A tabela é
+ * acrescentada ao destino sob um título com o rótulo, para que rodadas antes e depois de uma mudança
+ * fiquem registradas lado a lado.
+ */
+public class ResumoJmh {
+    
+    public static void main(String[] args) throws Exception {
+        Path resultado = Path.of(args.length > 0 ? args[0] : "target/jmh-result.json");
+        Path destino = Path.of(args.length > 1 ? args[1] : "target/benchmarks.md");
+        String rotulo = args.length > 2 ? args[2] : resultado.getFileName().toString();
+        
+        List<String> linhas = new ArrayList<>();
+        linhas.add("");
+        linhas.add("### " + rotulo);
+        linhas.add("");
+        linhas.add("| Benchmark | Parâmetros | Resultado | Erro (99,9%) | Unidade |");
+        linhas.add("|---|---|---|---|---|");
+        for (JsonNode rodada : new ObjectMapper().readTree(resultado.toFile())) {
+            String benchmark = rodada.path("benchmark").asText();
+            List<String> parametros = new ArrayList<>();
+            Iterator<Map.Entry<String, JsonNode>> campos = rodada.path("params").fields();
+            while (campos.hasNext()) {
+                Map.Entry<String, JsonNode> parametro = campos.next();
+                parametros.add(parametro.getKey() + "=" + parametro.getValue().asText());
+            }
+            JsonNode metrica = rodada.path("primaryMetric");
+            linhas.add(String.format("| %s | %s | %.3f | %.3f | %s |",
+                    benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1),
+                    String.join(", ", parametros), metrica.path("score").asDouble(),
+                    metrica.path("scoreError").asDouble(), metrica.path("scoreUnit").asText()));
+        }
+        
+        if (destino.getParent() != null) {
+            Files.createDirectories(destino.getParent());
+        }
+        Files.write(destino, linhas, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        System.out.printf("%d resultados acrescentados a %s%n", linhas.size() - 5, destino);
+    }
+}
@@ -0,0 +1,146 @@
+package com.taskmaster.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmaster.controller.PaginaStreaming;
+import com.taskmaster.dto.TaskResumo;
+import com.taskmaster.model.Task;
+import com.taskmaster.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialização das listagens. Além do tempo, o setUp imprime o tamanho da página em JSON, JSON com gzip,
+ * CBOR e Smile para cada {@code tamanhoPagina}. Com {@code -Dserializacao.resultado=<arquivo>} (passado ao
+ * fork com {@code -jvmArgsAppend}), os tamanhos também são acrescentados ao arquivo como linhas de tabela
+ * Markdown, identificadas por {@code -Dserializacao.rotulo}; os tempos ficam no resultado do JMH, que o
+ * {@link ResumoJmh} converte para o mesmo arquivo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializacaoBenchmark {
+    
+    @Param({"10", "100", "1000"})
+    public int tamanhoPagina;
+    
+    private ObjectMapper objectMapper;
+    private ObjectMapper cborMapper;
+    private ObjectMapper smileMapper;
+    private PaginaStreaming paginaStreaming;
+    private Page<Task> pagina;
+    private List<Task> lista;
+    private Page<TaskResumo> resumos;
+    
+    @Setup
+    public void setUp(TaskDatabaseState banco) {
+        objectMapper = banco.bean(ObjectMapper.class);
+        pagina = banco.bean(TaskService.class).listarTarefas(PageRequest.of(0, tamanhoPagina, Sort.by("dataLimite")));
+        lista = pagina.getContent();
+        resumos = banco.bean(TaskService.class).listarResumos(PageRequest.of(0, tamanhoPagina, Sort.by("dataLimite")));
+        cborMapper = banco.bean(MappingJackson2CborHttpMessageConverter.class).getObjectMapper();
+        smileMapper = banco.bean(MappingJackson2SmileHttpMessageConverter.class).getObjectMapper();
+        paginaStreaming = banco.bean(PaginaStreaming.class);
+        
+        try {
+            int json = serializarPage().length;
+            int gzip = serializarPageComGzip().length;
+            int cbor = serializarPageEmCbor().length;
+            int smile = serializarPageEmSmile().length;
+            System.out.printf("%ntamanhoPagina=%d json=%d bytes gzip=%d bytes cbor=%d bytes smile=%d bytes%n",
+                    tamanhoPagina, json, gzip, cbor, smile);
+            String resultado = System.getProperty("serializacao.resultado");
+            if (resultado != null) {
+                registrar(Path.of(resultado), String.format("| %s | %d | %d | %d (%.0f%%) | %d (%.0f%%) | %d (%.0f%%) |",
+                        System.getProperty("serializacao.rotulo", "-"), tamanhoPagina, json,
+                        gzip, 100.0 * gzip / json, cbor, 100.0 * cbor / json, smile, 100.0 * smile / json));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private static synchronized void registrar(Path arquivo, String linha) throws IOException {
+        if (arquivo.getParent() != null) {
+            Files.createDirectories(arquivo.getParent());
+        }
+        if (Files.notExists(arquivo)) {
+            Files.writeString(arquivo, "| Rodada | Tarefas | JSON (bytes) | JSON com gzip | CBOR | Smile |\n|---|---|---|---|---|---|\n",
+                    StandardCharsets.UTF_8);
+        }
+        Files.writeString(arquivo, linha + "\n", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+    }
+    
+    @Benchmark
+    public byte[] serializarPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pagina);
+    }
+    
+    @Benchmark
+    public byte[] serializarPageComGzip() throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            objectMapper.writeValue(gzip, pagina);
+        }
+        return saida.toByteArray();
+    }
+    
+    @Benchmark
+    public byte[] serializarPageEmCbor() throws JsonProcessingException {
+        return cborMapper.writeValueAsBytes(pagina);
+    }
+    
+    @Benchmark
+    public byte[] serializarPageEmSmile() throws JsonProcessingException {
+        return smileMapper.writeValueAsBytes(pagina);
+    }
+    
+    @Benchmark
+    public byte[] escreverPaginaPorStreaming() throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        paginaStreaming.escrever(saida, MediaType.APPLICATION_JSON, pagina.getPageable(), consumer -> {
+            lista.forEach(consumer);
+            return pagina.getTotalElements();
+        });
+        return saida.toByteArray();
+    }
+    
+    @Benchmark
+    public byte[] serializarList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(lista);
+    }
+    
+    @Benchmark
+    public byte[] serializarPageDeResumos() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(resumos);
+    }
+}
+
@@ -0,0 +1,56 @@
+package com.taskmaster.benchmark;
+
+import com.taskmaster.TaskmasterApplication;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Sobe a aplicação sem servidor web sobre um H2 em memória populado com {@code linhas} tarefas.
+ */
+@State(Scope.Benchmark)
+public class TaskDatabaseState {
+    
+    @Param({"10000", "100000", "1000000"})
+    public int linhas;
+    
+    public ConfigurableApplicationContext context;
+    
+    @Setup(Level.Trial)
+    public void iniciar() {
+        context = new SpringApplicationBuilder(TaskmasterApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark-" + linhas + "",
+                        "spring.jpa.show-sql=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+        
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("INSERT INTO categorias (nome) SELECT 'Categoria ' || X FROM SYSTEM_RANGE(0, 19)");
+        jdbcTemplate.update("INSERT INTO tasks (id, titulo, descricao, categoria_id, data_limite, versao) "
+                + "SELECT X, 'Tarefa ' || X, 'Descrição da tarefa ' || X, c.id, "
+                + "DATEADD('DAY', MOD(X, 365), CURRENT_DATE), 0 FROM SYSTEM_RANGE(1, ?) "
+                + "JOIN categorias c ON c.nome = 'Categoria ' || MOD(X, 20)", linhas);
+        jdbcTemplate.execute("ALTER SEQUENCE tasks_seq RESTART WITH " + (linhas + 1));
+        jdbcTemplate.execute("ANALYZE");
+    }
+    
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        context.close();
+    }
+    
+    public <T> T bean(Class<T> tipo) {
+        return context.getBean(tipo);
+    }
+}
+
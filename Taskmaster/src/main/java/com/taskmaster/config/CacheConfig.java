@@ -0,0 +1,14 @@
+package com.taskmaster.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+    
+    public static final String TAREFAS = "tarefas";
+    public static final String TAREFAS_POR_CATEGORIA = "tarefasPorCategoria";
+}
+
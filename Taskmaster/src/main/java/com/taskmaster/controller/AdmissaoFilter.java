@@ -0,0 +1,215 @@
+package com.taskmaster.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskmaster.exception.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controle de admissão das requisições a /tasks, aplicado antes de qualquer acesso ao banco:
+ * limite de taxa por cliente (token bucket por chave do cliente) e limite de requisições simultâneas
+ * por classe de endpoint (leitura ou escrita). A chave é o valor do cabeçalho {@code cabecalho-cliente}, se
+ * configurado e presente, ou o endereço remoto. Atrás de um balanceador, o endereço remoto só identifica o
+ * cliente com {@code server.forward-headers-strategy}, que o lê do X-Forwarded-For enviado por proxies confiáveis.
+ * O que passa dos limites é recusado na hora, com 429 ou 503 e Retry-After, em vez de esperar na fila de
+ * conexões do Hikari.
+ * Fica depois do filtro de observação, então as recusas também aparecem em http.server.requests.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class AdmissaoFilter extends OncePerRequestFilter {
+    
+    private static final String PREFIXO = "/tasks";
+    
+    private final ObjectMapper objectMapper;
+    private final boolean habilitada;
+    private final double taxaPorSegundo;
+    private final double rajada;
+    private final String cabecalhoCliente;
+    private final Cache<String, TokenBucket> clientes;
+    private final Classe leitura;
+    private final Classe escrita;
+    private final long esperaConcorrenciaNanos;
+    
+    public AdmissaoFilter(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                          @Value("${taskmaster.admissao.habilitada:true}") boolean habilitada,
+                          @Value("${taskmaster.admissao.taxa-por-segundo:50}") double taxaPorSegundo,
+                          @Value("${taskmaster.admissao.rajada:100}") double rajada,
+                          @Value("${taskmaster.admissao.clientes-maximo:100000}") long clientesMaximo,
+                          @Value("${taskmaster.admissao.cabecalho-cliente:}") String cabecalhoCliente,
+                          @Value("${taskmaster.admissao.concorrencia-leitura:64}") int concorrenciaLeitura,
+                          @Value("${taskmaster.admissao.concorrencia-escrita:16}") int concorrenciaEscrita,
+                          @Value("${taskmaster.admissao.espera-concorrencia:20ms}") Duration esperaConcorrencia) {
+        if (taxaPorSegundo <= 0 || rajada < 1) {
+            throw new IllegalArgumentException("taskmaster.admissao.taxa-por-segundo deve ser positiva e rajada ao menos 1");
+        }
+        this.objectMapper = objectMapper;
+        this.habilitada = habilitada;
+        this.taxaPorSegundo = taxaPorSegundo;
+        this.rajada = rajada;
+        this.cabecalhoCliente = cabecalhoCliente;
+        this.esperaConcorrenciaNanos = esperaConcorrencia.toNanos();
+        
+        // Um bucket ocioso por tempo suficiente para encher de novo equivale a um bucket novo; descartá-lo
+        // não muda o comportamento e mantém a memória limitada mesmo com muitos endereços distintos
+        long segundosParaEncher = (long) Math.ceil(rajada / taxaPorSegundo);
+        this.clientes = Caffeine.newBuilder()
+                .maximumSize(clientesMaximo)
+                .expireAfterAccess(Duration.ofSeconds(Math.max(1, segundosParaEncher)))
+                .build();
+        this.leitura = new Classe("leitura", concorrenciaLeitura, meterRegistry);
+        this.escrita = new Classe("escrita", concorrenciaEscrita, meterRegistry);
+        meterRegistry.gauge("taskmaster.admissao.clientes", clientes, Cache::estimatedSize);
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!habilitada) {
+            return true;
+        }
+        String caminho = request.getRequestURI().substring(request.getContextPath().length());
+        return !(caminho.equals(PREFIXO) || caminho.startsWith(PREFIXO + "/"));
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Classe classe = isLeitura(request) ? leitura : escrita;
+        
+        long agora = System.nanoTime();
+        long esperaNanos = clientes.get(chaveDoCliente(request), cliente -> new TokenBucket(rajada, taxaPorSegundo, agora))
+                .consumir(agora);
+        if (esperaNanos > 0) {
+            classe.rejeitadasPorTaxa.increment();
+            recusar(response, HttpStatus.TOO_MANY_REQUESTS, segundos(esperaNanos),
+                    "Limite de requisições por cliente excedido. Tente novamente após o intervalo indicado em Retry-After.");
+            return;
+        }
+        
+        boolean admitida;
+        try {
+            admitida = classe.permissoes.tryAcquire(esperaConcorrenciaNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitida = false;
+        }
+        if (!admitida) {
+            classe.rejeitadasPorConcorrencia.increment();
+            recusar(response, HttpStatus.SERVICE_UNAVAILABLE, 1,
+                    "O servidor está no limite de requisições simultâneas. Tente novamente em instantes.");
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            classe.permissoes.release();
+        }
+    }
+    
+    /**
+     * Os prefixos separam as chaves vindas do cabeçalho dos endereços, para que um cliente não consuma
+     * as fichas de outro escolhendo o valor do cabeçalho.
+     */
+    private String chaveDoCliente(HttpServletRequest request) {
+        if (!cabecalhoCliente.isEmpty()) {
+            String chave = request.getHeader(cabecalhoCliente);
+            if (chave != null && !chave.isBlank()) {
+                return "chave:" + chave;
+            }
+        }
+        return "endereco:" + request.getRemoteAddr();
+    }
+    
+    private boolean isLeitura(HttpServletRequest request) {
+        String metodo = request.getMethod();
+        return HttpMethod.GET.matches(metodo) || HttpMethod.HEAD.matches(metodo) || HttpMethod.OPTIONS.matches(metodo);
+    }
+    
+    private void recusar(HttpServletResponse response, HttpStatus status, long retryAfter, String mensagem)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(status.name(), mensagem));
+    }
+    
+    private static long segundos(long nanos) {
+        return Math.max(1, (nanos + 999_999_999L) / 1_000_000_000L);
+    }
+    
+    private static final class Classe {
+        
+        private final Semaphore permissoes;
+        private final Counter rejeitadasPorTaxa;
+        private final Counter rejeitadasPorConcorrencia;
+        
+        Classe(String nome, int limite, MeterRegistry registry) {
+            this.permissoes = new Semaphore(limite);
+            this.rejeitadasPorTaxa = Counter.builder("taskmaster.admissao.rejeitadas")
+                    .tag("motivo", "taxa")
+                    .tag("classe", nome)
+                    .register(registry);
+            this.rejeitadasPorConcorrencia = Counter.builder("taskmaster.admissao.rejeitadas")
+                    .tag("motivo", "concorrencia")
+                    .tag("classe", nome)
+                    .register(registry);
+            registry.gauge("taskmaster.admissao.em.andamento", Tags.of("classe", nome),
+                    permissoes, semaforo -> limite - semaforo.availablePermits());
+        }
+    }
+    
+    /**
+     * Token bucket com recarga contínua: começa cheio, com {@code capacidade} fichas, e recupera
+     * {@code taxaPorSegundo} fichas por segundo. Cada requisição consome uma ficha.
+     */
+    static final class TokenBucket {
+        
+        private final double capacidade;
+        private final double fichasPorNano;
+        private double fichas;
+        private long ultimaRecarga;
+        
+        TokenBucket(double capacidade, double taxaPorSegundo, long agora) {
+            this.capacidade = capacidade;
+            this.fichasPorNano = taxaPorSegundo / 1_000_000_000d;
+            this.fichas = capacidade;
+            this.ultimaRecarga = agora;
+        }
+        
+        /**
+         * Consome uma ficha. Retorna 0 se havia ficha disponível ou, caso contrário, quantos nanossegundos
+         * faltam para a próxima.
+         */
+        synchronized long consumir(long agora) {
+            fichas = Math.min(capacidade, fichas + Math.max(0, agora - ultimaRecarga) * fichasPorNano);
+            ultimaRecarga = agora;
+            if (fichas >= 1) {
+                fichas -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - fichas) / fichasPorNano);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.taskmaster.controller;
+
+import com.taskmaster.service.TaskService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registra, por listagem atendida, as linhas retornadas, o tamanho de página pedido e o campo de ordenação.
+ * As tags têm cardinalidade fixa (modo, campos e os campos de ordenação permitidos pelo serviço), então cada
+ * combinação é registrada uma única vez e reaproveitada nas listagens seguintes. Um campo de ordenação fora dos
+ * permitidos é contado como {@code outro}, e a busca textual, sempre ordenada por relevância, como {@code relevancia}.
+ */
+@Component
+public class ListagemMetrics {
+    
+    private final MeterRegistry registry;
+    private final Map<String, DistributionSummary> linhas = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> tamanhosPagina = new ConcurrentHashMap<>();
+    private final Map<String, Counter> ordenacoes = new ConcurrentHashMap<>();
+    
+    public ListagemMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+    
+    public void registrar(String modo, String campos, Pageable pageable, int linhasRetornadas) {
+        linhas.computeIfAbsent(modo + "|" + campos, chave -> DistributionSummary.builder("taskmaster.listagem.linhas")
+                        .description("Linhas retornadas por página de tarefas")
+                        .tags("modo", modo, "campos", campos)
+                        .register(registry))
+                .record(linhasRetornadas);
+        
+        tamanhosPagina.computeIfAbsent(modo, chave -> DistributionSummary.builder("taskmaster.listagem.tamanho.pagina")
+                        .description("Tamanho de página solicitado")
+                        .tags("modo", modo)
+                        .register(registry))
+                .record(pageable.getPageSize());
+        
+        Sort.Order ordem = "cursor".equals(modo) ? Sort.Order.asc("dataLimite")
+                : "busca".equals(modo) ? Sort.Order.desc("relevancia")
+                : ordemPrincipal(pageable.getSort());
+        String campo = ordem == null ? "nenhum" : campoDaTag(modo, ordem.getProperty());
+        String direcao = ordem != null ? ordem.getDirection().name().toLowerCase() : "nenhuma";
+        ordenacoes.computeIfAbsent(campo + "|" + direcao, chave -> Counter.builder("taskmaster.listagem.ordenacao")
+                        .description("Listagens por campo de ordenação")
+                        .tags("campo", campo, "direcao", direcao)
+                        .register(registry))
+                .increment();
+    }
+    
+    private String campoDaTag(String modo, String campo) {
+        if ("busca".equals(modo) || TaskService.CAMPOS_ORDENAVEIS.contains(campo)) {
+            return campo;
+        }
+        return "outro";
+    }
+    
+    private Sort.Order ordemPrincipal(Sort sort) {
+        Sort.Order principal = null;
+        for (Sort.Order order : sort) {
+            if (!order.getProperty().equals("id")) {
+                return order;
+            }
+            principal = order;
+        }
+        return principal;
+    }
+}
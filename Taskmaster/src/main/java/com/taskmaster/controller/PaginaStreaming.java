@@ -0,0 +1,159 @@
+package com.taskmaster.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.taskmaster.model.Task;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Escreve uma página de tarefas direto no gerador do Jackson, uma tarefa por vez, à medida que são lidas
+ * do banco, sem montar a lista de entidades nem o {@code Page}. A saída tem os mesmos campos do
+ * {@code PageImpl} serializado pelo Spring, em JSON, CBOR ou Smile conforme o Accept.
+ */
+@Component
+public class PaginaStreaming {
+    
+    private final Map<MediaType, ObjectMapper> formatos = new LinkedHashMap<>();
+    private final Map<MediaType, ObjectWriter> writers = new LinkedHashMap<>();
+    private final int aPartirDe;
+    
+    public PaginaStreaming(List<AbstractJackson2HttpMessageConverter> conversores,
+                           @Value("${taskmaster.listagem.streaming-a-partir-de:100}") int aPartirDe) {
+        // JSON primeiro, para que Accept: */* e a ausência de Accept resultem em JSON
+        List<AbstractJackson2HttpMessageConverter> ordenados = new ArrayList<>(conversores);
+        ordenados.sort(Comparator.comparing(
+                conversor -> !conversor.getSupportedMediaTypes().contains(MediaType.APPLICATION_JSON)));
+        for (AbstractJackson2HttpMessageConverter conversor : ordenados) {
+            for (MediaType tipo : conversor.getSupportedMediaTypes()) {
+                if (!tipo.isWildcardSubtype() && !formatos.containsKey(tipo)) {
+                    ObjectMapper mapper = conversor.getObjectMapper();
+                    formatos.put(tipo, mapper);
+                    writers.put(tipo, mapper.writerFor(Task.class)
+                            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE));
+                }
+            }
+        }
+        this.aPartirDe = aPartirDe;
+    }
+    
+    /**
+     * Páginas a partir deste tamanho são escritas por streaming; as menores seguem pelo conversor comum.
+     */
+    public boolean aplicavel(Pageable pageable) {
+        return pageable.isPaged() && pageable.getPageSize() >= aPartirDe;
+    }
+    
+    /**
+     * Escolhe o formato de saída pelo Accept. Sem Accept, usa JSON.
+     *
+     * @throws HttpMediaTypeNotAcceptableException se o cliente não aceitar nenhum dos formatos
+     */
+    public MediaType negociar(String accept) throws HttpMediaTypeNotAcceptableException {
+        MediaType formato = formatoAceito(accept);
+        if (formato == null) {
+            throw new HttpMediaTypeNotAcceptableException(List.copyOf(formatos.keySet()));
+        }
+        return formato;
+    }
+    
+    /**
+     * Formato preferido pelo cliente, ou {@code null} se ele não aceitar nenhum. Cada formato recebe a
+     * qualidade da faixa mais específica do Accept que o inclui, de modo que {@code q=0} exclui o formato;
+     * entre qualidades iguais vale a faixa mais específica e, depois, JSON.
+     */
+    public MediaType formatoAceito(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> aceitos = MediaType.parseMediaTypes(accept);
+        MediaType escolhido = null;
+        double melhorQualidade = 0;
+        int melhorEspecificidade = -1;
+        for (MediaType tipo : formatos.keySet()) {
+            MediaType faixa = null;
+            for (MediaType aceito : aceitos) {
+                if (aceito.includes(tipo) && (faixa == null || especificidade(aceito) > especificidade(faixa))) {
+                    faixa = aceito;
+                }
+            }
+            if (faixa == null) {
+                continue;
+            }
+            double qualidade = faixa.getQualityValue();
+            if (qualidade > melhorQualidade
+                    || (qualidade == melhorQualidade && qualidade > 0 && especificidade(faixa) > melhorEspecificidade)) {
+                escolhido = tipo;
+                melhorQualidade = qualidade;
+                melhorEspecificidade = especificidade(faixa);
+            }
+        }
+        return escolhido;
+    }
+    
+    private static int especificidade(MediaType faixa) {
+        return faixa.isWildcardType() ? 0 : faixa.isWildcardSubtype() ? 1 : 2;
+    }
+    
+    /**
+     * Escreve a página em {@code saida}. A {@code fonte} entrega as tarefas ao consumidor e retorna o total
+     * de tarefas da listagem; os campos que dependem dele vêm depois de {@code content}.
+     *
+     * @return o número de tarefas escritas
+     */
+    public int escrever(OutputStream saida, MediaType formato, Pageable pageable,
+                        ToLongFunction<Consumer<Task>> fonte) throws IOException {
+        ObjectMapper mapper = formatos.getOrDefault(formato, formatos.get(MediaType.APPLICATION_JSON));
+        ObjectWriter writer = writers.getOrDefault(formato, writers.get(MediaType.APPLICATION_JSON));
+        
+        try (JsonGenerator gerador = mapper.getFactory().createGenerator(saida)) {
+            gerador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            gerador.writeStartObject();
+            gerador.writeArrayFieldStart("content");
+            int[] escritas = {0};
+            long total = fonte.applyAsLong(task -> {
+                try {
+                    writer.writeValue(gerador, task);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                escritas[0]++;
+            });
+            gerador.writeEndArray();
+            
+            int tamanho = pageable.getPageSize();
+            int numero = pageable.getPageNumber();
+            int totalPaginas = (int) Math.ceil((double) total / tamanho);
+            gerador.writeObjectField("pageable", pageable);
+            gerador.writeBooleanField("last", numero + 1 >= totalPaginas);
+            gerador.writeNumberField("totalPages", totalPaginas);
+            gerador.writeNumberField("totalElements", total);
+            gerador.writeNumberField("size", tamanho);
+            gerador.writeNumberField("number", numero);
+            gerador.writeObjectField("sort", pageable.getSort());
+            gerador.writeBooleanField("first", numero == 0);
+            gerador.writeNumberField("numberOfElements", escritas[0]);
+            gerador.writeBooleanField("empty", escritas[0] == 0);
+            gerador.writeEndObject();
+            return escritas[0];
+        }
+    }
+}
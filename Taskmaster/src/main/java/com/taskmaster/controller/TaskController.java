@@ -1,8 +1,25 @@
 package com.taskmaster.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.taskmaster.dto.BatchResultDTO;
+import com.taskmaster.dto.CursorPage;
+import com.taskmaster.dto.IngestaoStatusDTO;
+import com.taskmaster.dto.TaskBatchItemDTO;
 import com.taskmaster.dto.TaskDTO;
+import com.taskmaster.dto.TaskEstatisticasDTO;
+import com.taskmaster.exception.PreconditionFailedException;
+import com.taskmaster.exception.ResourceNotFoundException;
+import com.taskmaster.exception.VersionConflictException;
 import com.taskmaster.model.Task;
+import com.taskmaster.service.TaskBatchService;
+import com.taskmaster.service.TaskBuscaService;
+import com.taskmaster.service.TaskChangeFeed;
+import com.taskmaster.service.TaskIngestaoService;
 import com.taskmaster.service.TaskService;
+import com.taskmaster.service.VersaoListagens;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -10,14 +27,30 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -26,10 +59,34 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class TaskController {
     
+    private static final String CAMPOS_COMPLETO = "completo";
+    private static final String CAMPOS_RESUMO = "resumo";
+    
     private final TaskService taskService;
+    private final TaskBatchService taskBatchService;
+    private final TaskBuscaService taskBuscaService;
+    private final TaskIngestaoService taskIngestaoService;
+    private final VersaoListagens versaoListagens;
+    private final TaskChangeFeed taskChangeFeed;
+    private final ListagemMetrics listagemMetrics;
+    private final PaginaStreaming paginaStreaming;
+    private final ObjectWriter taskWriter;
     
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, TaskBatchService taskBatchService, TaskBuscaService taskBuscaService,
+                          TaskIngestaoService taskIngestaoService, VersaoListagens versaoListagens,
+                          TaskChangeFeed taskChangeFeed, ListagemMetrics listagemMetrics, PaginaStreaming paginaStreaming,
+                          ObjectMapper objectMapper) {
         this.taskService = taskService;
+        this.taskBatchService = taskBatchService;
+        this.taskBuscaService = taskBuscaService;
+        this.taskIngestaoService = taskIngestaoService;
+        this.versaoListagens = versaoListagens;
+        this.taskChangeFeed = taskChangeFeed;
+        this.listagemMetrics = listagemMetrics;
+        this.paginaStreaming = paginaStreaming;
+        this.taskWriter = objectMapper.writerFor(Task.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
     
     @PostMapping
@@ -39,9 +96,67 @@ public class TaskController {
                 content = @Content(schema = @Schema(implementation = Task.class))),
         @ApiResponse(responseCode = "400", description = "Dados inválidos fornecidos")
     })
-    public ResponseEntity<Task> criar(@RequestBody @Valid TaskDTO dto) {
+    public ResponseEntity<Task> criar(@RequestBody @Valid TaskDTO dto, WebRequest request) {
         Task task = taskService.criarTarefa(dto);
-        return ResponseEntity.status(HttpStatus.CREATED).body(task);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(etagTarefa(task, request)).body(task);
+    }
+    
+    @PostMapping("/ingestao")
+    @Operation(summary = "Criar uma tarefa de forma assíncrona", description = "Valida a tarefa, coloca-a na fila de ingestão e responde imediatamente com um ID de acompanhamento. A tarefa é gravada em segundo plano, agrupada com outras em uma única transação.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Tarefa aceita para gravação"),
+        @ApiResponse(responseCode = "400", description = "Dados inválidos fornecidos"),
+        @ApiResponse(responseCode = "503", description = "Fila de ingestão cheia; tente novamente após o tempo indicado em Retry-After")
+    })
+    public ResponseEntity<IngestaoStatusDTO> criarAssincrona(@RequestBody @Valid TaskDTO dto) {
+        IngestaoStatusDTO status = taskIngestaoService.enfileirar(dto);
+        return ResponseEntity.accepted()
+                .location(URI.create("/tasks/ingestao/" + status.getId()))
+                .body(status);
+    }
+    
+    @GetMapping("/ingestao/{id}")
+    @Operation(summary = "Consultar uma ingestão assíncrona", description = "Retorna o estado de uma tarefa enviada a POST /tasks/ingestao: PENDENTE, GRAVADA (com o ID da tarefa) ou FALHOU (com o motivo)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Estado da ingestão"),
+        @ApiResponse(responseCode = "404", description = "ID de acompanhamento desconhecido ou expirado")
+    })
+    public ResponseEntity<IngestaoStatusDTO> consultarIngestao(
+            @Parameter(description = "ID de acompanhamento retornado por POST /tasks/ingestao") @PathVariable String id) {
+        return ResponseEntity.ok(taskIngestaoService.consultar(id));
+    }
+    
+    @PostMapping("/batch")
+    @Operation(summary = "Criar tarefas em lote", description = "Valida o lote inteiro e cria todas as tarefas em uma única transação, com inserções agrupadas em lotes JDBC. Se algum item for inválido, nada é gravado e os erros são informados por item.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Tarefas criadas com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Lote vazio, grande demais ou com itens inválidos")
+    })
+    public ResponseEntity<BatchResultDTO> criarEmLote(@RequestBody List<TaskDTO> dtos) {
+        BatchResultDTO resultado = taskBatchService.criarTarefasEmLote(dtos);
+        return ResponseEntity.status(HttpStatus.CREATED).body(resultado);
+    }
+    
+    @PutMapping("/batch")
+    @Operation(summary = "Atualizar tarefas em lote", description = "Atualiza completamente várias tarefas em uma única transação. Se algum item for inválido ou não existir, nada é gravado e os erros são informados por item.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Tarefas atualizadas com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Lote vazio, grande demais ou com itens inválidos")
+    })
+    public ResponseEntity<BatchResultDTO> atualizarEmLote(@RequestBody List<TaskBatchItemDTO> itens) {
+        BatchResultDTO resultado = taskBatchService.atualizarTarefasEmLote(itens);
+        return ResponseEntity.ok(resultado);
+    }
+    
+    @DeleteMapping("/batch")
+    @Operation(summary = "Excluir tarefas em lote", description = "Exclui várias tarefas pelo ID em uma única transação. Se algum ID não existir, nada é excluído e os erros são informados por item.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Tarefas excluídas com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Lote vazio, grande demais ou com IDs inválidos")
+    })
+    public ResponseEntity<BatchResultDTO> excluirEmLote(@RequestBody List<Long> ids) {
+        BatchResultDTO resultado = taskBatchService.excluirTarefasEmLote(ids);
+        return ResponseEntity.ok(resultado);
     }
     
     @PutMapping("/{id}")
@@ -50,13 +165,27 @@ public class TaskController {
         @ApiResponse(responseCode = "200", description = "Tarefa atualizada com sucesso",
                 content = @Content(schema = @Schema(implementation = Task.class))),
         @ApiResponse(responseCode = "404", description = "Tarefa não encontrada"),
-        @ApiResponse(responseCode = "400", description = "Dados inválidos fornecidos")
+        @ApiResponse(responseCode = "400", description = "Dados inválidos fornecidos"),
+        @ApiResponse(responseCode = "412", description = "A tarefa foi alterada desde a ETag informada em If-Match")
     })
     public ResponseEntity<Task> atualizar(
             @Parameter(description = "ID da tarefa a ser atualizada") @PathVariable Long id,
-            @RequestBody @Valid TaskDTO dto) {
-        Task task = taskService.atualizarTarefa(id, dto);
-        return ResponseEntity.ok(task);
+            @Parameter(description = "ETag da versão esperada (opcional). Se a tarefa tiver mudado, retorna 412.")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody @Valid TaskDTO dto,
+            WebRequest request) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            Task task = taskService.atualizarTarefa(id, dto);
+            return ResponseEntity.ok().eTag(etagTarefa(task, request)).body(task);
+        }
+        
+        dto.setVersao(versaoDaETag(ifMatch, id));
+        try {
+            Task task = taskService.atualizarTarefa(id, dto);
+            return ResponseEntity.ok().eTag(etagTarefa(task, request)).body(task);
+        } catch (VersionConflictException e) {
+            throw new PreconditionFailedException("A tarefa " + id + " não corresponde à ETag informada em If-Match");
+        }
     }
     
     @DeleteMapping("/{id}")
@@ -72,53 +201,294 @@ public class TaskController {
     }
     
     @GetMapping
-    @Operation(summary = "Listar tarefas", description = "Lista tarefas com paginação e ordenação. Suporta filtro opcional por categoria via parâmetro query. Retorna metadados de paginação quando não filtra.")
+    @Operation(summary = "Listar tarefas", description = "Lista tarefas com paginação e ordenação. Suporta filtro opcional por categoria e por intervalo de data limite (dueFrom/dueTo), combináveis entre si. Com paginacao=cursor, usa paginação por cursor (keyset) ordenada por dataLimite e id, sem contagem total. Responde em JSON, CBOR (application/cbor) ou Smile (application/x-jackson-smile) conforme o Accept; páginas completas a partir de 100 tarefas são escritas à medida que são lidas do banco.")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Lista de tarefas retornada com sucesso")
+        @ApiResponse(responseCode = "200", description = "Lista de tarefas retornada com sucesso"),
+        @ApiResponse(responseCode = "304", description = "Nenhuma tarefa da listagem mudou desde a ETag informada em If-None-Match"),
+        @ApiResponse(responseCode = "400", description = "Cursor ou intervalo de datas inválido")
     })
     public ResponseEntity<?> listar(
-            @Parameter(description = "Número da página (começa em 0)") 
-            @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Tamanho da página") 
-            @RequestParam(defaultValue = "10") int size,
-            @Parameter(description = "Campo para ordenação (ex: dataLimite,asc ou titulo,desc)") 
-            @RequestParam(defaultValue = "dataLimite,asc") String sort,
-            @Parameter(description = "Categoria para filtrar tarefas (opcional). Se fornecido, retorna apenas tarefas desta categoria sem paginação.") 
-            @RequestParam(required = false) String categoria) {
+            @ParameterObject
+            @PageableDefault(size = 10, sort = "dataLimite", direction = Sort.Direction.ASC) Pageable pageable,
+            @Parameter(description = "Categoria para filtrar tarefas (opcional). Se fornecido, retorna apenas tarefas desta categoria, com a mesma paginação.")
+            @RequestParam(required = false) String categoria,
+            @Parameter(description = "Modo de paginação: offset (padrão, com totais) ou cursor (keyset por dataLimite e id, sem totais; o parâmetro sort é ignorado)") 
+            @RequestParam(defaultValue = "offset") String paginacao,
+            @Parameter(description = "Cursor da próxima página (nextCursor da resposta anterior). Implica paginacao=cursor.") 
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Campos retornados: completo (padrão, tarefa inteira) ou resumo (apenas id, titulo, categoria e dataLimite, lidos diretamente do banco)") 
+            @RequestParam(defaultValue = CAMPOS_COMPLETO) String fields,
+            @Parameter(description = "Data limite mínima, inclusiva (opcional, formato yyyy-MM-dd)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+            @Parameter(description = "Data limite máxima, inclusiva (opcional, formato yyyy-MM-dd)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+            WebRequest request,
+            HttpServletResponse response) throws IOException, HttpMediaTypeNotAcceptableException {
+        
+        boolean resumo = isResumo(fields);
+        String campos = resumo ? CAMPOS_RESUMO : CAMPOS_COMPLETO;
+        boolean cursorMode = "cursor".equalsIgnoreCase(paginacao) || (cursor != null && !cursor.isEmpty());
+        boolean porPrazo = dueFrom != null || dueTo != null;
+        if (cursorMode && porPrazo) {
+            throw new IllegalArgumentException("dueFrom e dueTo não podem ser combinados com paginacao=cursor");
+        }
+        if (request.checkNotModified(etagListagem(categoria, request))) {
+            return null;
+        }
+        
+        if (porPrazo) {
+            Page<?> prazoPage = resumo
+                    ? taskService.filtrarResumosPorPrazo(dueFrom, dueTo, categoria, pageable)
+                    : taskService.filtrarPorPrazo(dueFrom, dueTo, categoria, pageable);
+            listagemMetrics.registrar("prazo", campos, pageable, prazoPage.getNumberOfElements());
+            return ResponseEntity.ok(prazoPage);
+        }
+        
+        if (cursorMode) {
+            CursorPage<?> cursorPage = resumo
+                    ? taskService.listarResumosPorCursor(cursor, pageable.getPageSize(), categoria)
+                    : taskService.listarTarefasPorCursor(cursor, pageable.getPageSize(), categoria);
+            listagemMetrics.registrar("cursor", campos, pageable, cursorPage.getContent().size());
+            return ResponseEntity.ok(cursorPage);
+        }
         
         if (categoria != null && !categoria.isEmpty()) {
-            List<Task> tasks = taskService.filtrarPorCategoria(categoria);
-            return ResponseEntity.ok(tasks);
+            Page<?> categoriaPage = resumo
+                    ? taskService.filtrarResumosPorCategoria(categoria, pageable)
+                    : taskService.filtrarPorCategoria(categoria, pageable);
+            listagemMetrics.registrar("categoria", campos, pageable, categoriaPage.getNumberOfElements());
+            return ResponseEntity.ok(categoriaPage);
+        }
+        
+        if (!resumo && paginaStreaming.aplicavel(pageable)) {
+            // Valida antes de escrever o primeiro byte, para que um erro ainda vire uma resposta 400
+            Pageable pagina = taskService.validarOrdenacao(pageable);
+            MediaType formato = paginaStreaming.negociar(request.getHeader(HttpHeaders.ACCEPT));
+            response.setContentType(formato.toString());
+            int linhas = paginaStreaming.escrever(response.getOutputStream(), formato, pagina,
+                    consumer -> taskService.escreverPagina(pagina, consumer));
+            listagemMetrics.registrar("offset", campos, pageable, linhas);
+            return null;
         }
         
-        Page<Task> tasksPage = taskService.listarTarefas(page, size, sort);
+        Page<?> tasksPage = resumo ? taskService.listarResumos(pageable) : taskService.listarTarefas(pageable);
+        listagemMetrics.registrar("offset", campos, pageable, tasksPage.getNumberOfElements());
         return ResponseEntity.ok(tasksPage);
     }
     
     @GetMapping("/filtrar")
-    @Operation(summary = "Filtrar tarefas por categoria (alternativo)", description = "Endpoint alternativo para filtrar tarefas por categoria específica")
+    @Operation(summary = "Filtrar tarefas por categoria (alternativo)", description = "Endpoint alternativo para filtrar tarefas por categoria específica, com paginação")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Lista de tarefas filtradas retornada com sucesso")
+        @ApiResponse(responseCode = "200", description = "Página de tarefas filtradas retornada com sucesso"),
+        @ApiResponse(responseCode = "304", description = "Nenhuma tarefa da categoria mudou desde a ETag informada em If-None-Match")
     })
-    public ResponseEntity<List<Task>> filtrar(
-            @Parameter(description = "Categoria para filtrar tarefas") 
+    public ResponseEntity<Page<?>> filtrar(
+            @Parameter(description = "Categoria para filtrar tarefas")
+            @RequestParam String categoria,
+            @ParameterObject
+            @PageableDefault(size = 10, sort = "dataLimite", direction = Sort.Direction.ASC) Pageable pageable,
+            @Parameter(description = "Campos retornados: completo (padrão) ou resumo (id, titulo, categoria e dataLimite)") 
+            @RequestParam(defaultValue = CAMPOS_COMPLETO) String fields,
+            WebRequest request) {
+        
+        boolean resumo = isResumo(fields);
+        if (request.checkNotModified(etagListagem(categoria, request))) {
+            return null;
+        }
+        Page<?> tasksPage = resumo
+                ? taskService.filtrarResumosPorCategoria(categoria, pageable)
+                : taskService.filtrarPorCategoria(categoria, pageable);
+        listagemMetrics.registrar("categoria", resumo ? CAMPOS_RESUMO : CAMPOS_COMPLETO, pageable, tasksPage.getNumberOfElements());
+        return ResponseEntity.ok(tasksPage);
+    }
+    
+    @GetMapping("/search")
+    @Operation(summary = "Buscar tarefas por texto", description = "Busca tarefas que contenham todos os termos informados no título ou na descrição, ordenadas por relevância (o título pesa mais). As palavras são reduzidas ao radical e palavras comuns do português são ignoradas. Pode ser combinada com categoria.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de tarefas encontradas, da mais para a menos relevante"),
+        @ApiResponse(responseCode = "400", description = "Busca sem termos, com termos demais ou além dos primeiros 10000 resultados"),
+        @ApiResponse(responseCode = "503", description = "Índice de busca ainda em construção após a inicialização")
+    })
+    public ResponseEntity<Page<Task>> buscar(
+            @Parameter(description = "Termos de busca")
+            @RequestParam(required = false) String q,
+            @Parameter(description = "Categoria para filtrar tarefas (opcional)")
+            @RequestParam(required = false) String categoria,
+            @ParameterObject
+            @PageableDefault(size = 10) Pageable pageable) {
+        
+        // A busca é sempre ordenada por relevância; um sort enviado pelo cliente é descartado.
+        Pageable pagina = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        Page<Task> tasksPage = taskBuscaService.buscar(q, categoria, pagina);
+        listagemMetrics.registrar("busca", CAMPOS_COMPLETO, pagina, tasksPage.getNumberOfElements());
+        return ResponseEntity.ok(tasksPage);
+    }
+    
+    @GetMapping("/due-soon")
+    @Operation(summary = "Listar tarefas que vencem em breve", description = "Lista as tarefas com data limite entre hoje e hoje + days, inclusive, ordenadas por data limite. Pode ser combinada com categoria.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de tarefas retornada com sucesso"),
+        @ApiResponse(responseCode = "304", description = "Nenhuma tarefa da listagem mudou desde a ETag informada em If-None-Match"),
+        @ApiResponse(responseCode = "400", description = "Número de dias inválido")
+    })
+    public ResponseEntity<Page<Task>> vencendo(
+            @Parameter(description = "Quantidade de dias a partir de hoje (padrão 7)")
+            @RequestParam(defaultValue = "7") int days,
+            @Parameter(description = "Categoria para filtrar tarefas (opcional)")
+            @RequestParam(required = false) String categoria,
+            @ParameterObject
+            @PageableDefault(size = 10, sort = "dataLimite", direction = Sort.Direction.ASC) Pageable pageable,
+            WebRequest request) {
+        
+        if (request.checkNotModified(etagListagemDoDia(categoria, request))) {
+            return null;
+        }
+        Page<Task> tasksPage = taskService.listarVencendo(days, categoria, pageable);
+        listagemMetrics.registrar("prazo", CAMPOS_COMPLETO, pageable, tasksPage.getNumberOfElements());
+        return ResponseEntity.ok(tasksPage);
+    }
+    
+    @GetMapping("/overdue")
+    @Operation(summary = "Listar tarefas vencidas", description = "Lista as tarefas com data limite anterior a hoje, ordenadas por data limite. Pode ser combinada com categoria.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de tarefas retornada com sucesso"),
+        @ApiResponse(responseCode = "304", description = "Nenhuma tarefa da listagem mudou desde a ETag informada em If-None-Match")
+    })
+    public ResponseEntity<Page<Task>> vencidas(
+            @Parameter(description = "Categoria para filtrar tarefas (opcional)")
+            @RequestParam(required = false) String categoria,
+            @ParameterObject
+            @PageableDefault(size = 10, sort = "dataLimite", direction = Sort.Direction.ASC) Pageable pageable,
+            WebRequest request) {
+        
+        if (request.checkNotModified(etagListagemDoDia(categoria, request))) {
+            return null;
+        }
+        Page<Task> tasksPage = taskService.listarVencidas(categoria, pageable);
+        listagemMetrics.registrar("prazo", CAMPOS_COMPLETO, pageable, tasksPage.getNumberOfElements());
+        return ResponseEntity.ok(tasksPage);
+    }
+    
+    @GetMapping("/stats")
+    @Operation(summary = "Estatísticas das tarefas", description = "Conta as tarefas por categoria e por faixa de data limite (vencidas, hoje, próximos 7 dias e depois), com os totais gerais, em uma única consulta agrupada")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Contagens retornadas com sucesso"),
+        @ApiResponse(responseCode = "304", description = "Nenhuma tarefa mudou desde a ETag informada em If-None-Match")
+    })
+    public ResponseEntity<TaskEstatisticasDTO> estatisticas(WebRequest request) {
+        if (request.checkNotModified(etagListagemDoDia(null, request))) {
+            return null;
+        }
+        return ResponseEntity.ok(taskService.calcularEstatisticas(LocalDate.now()));
+    }
+    
+    @GetMapping(value = "/exportar", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Exportar tarefas por categoria", description = "Exporta todas as tarefas de uma categoria em NDJSON (uma tarefa por linha), escrevendo cada linha à medida que é lida do banco")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Exportação iniciada com sucesso")
+    })
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @Parameter(description = "Categoria das tarefas a exportar")
             @RequestParam String categoria) {
         
-        List<Task> tasks = taskService.filtrarPorCategoria(categoria);
-        return ResponseEntity.ok(tasks);
+        StreamingResponseBody body = out -> taskService.exportarPorCategoria(categoria, task -> {
+            try {
+                taskWriter.writeValue(out, task);
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+    
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Acompanhar alterações de tarefas", description = "Abre um fluxo SSE com os eventos criada, atualizada e excluida, enviados após o commit de cada escrita. Cada evento tem um ID; ao reconectar, informe o último ID recebido em Last-Event-ID (ou no parâmetro desde) para receber o que foi perdido. Se o ID não estiver mais no histórico, o fluxo começa com um evento reset, e o cliente deve recarregar as tarefas.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Fluxo de eventos aberto")
+    })
+    public SseEmitter stream(
+            @Parameter(description = "Categoria para filtrar os eventos (opcional). Exclusões cuja categoria não é conhecida são enviadas a todos.")
+            @RequestParam(required = false) String categoria,
+            @Parameter(description = "ID do último evento recebido, para retomar após reconexão (alternativa ao cabeçalho Last-Event-ID)")
+            @RequestParam(required = false) String desde,
+            @Parameter(hidden = true) @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return taskChangeFeed.assinar(categoria, lastEventId != null ? lastEventId : desde);
     }
     
     @GetMapping("/{id}")
-    @Operation(summary = "Buscar tarefa por ID", description = "Retorna os detalhes de uma tarefa específica")
+    @Operation(summary = "Buscar tarefa por ID", description = "Retorna os detalhes de uma tarefa específica, com uma ETag derivada da versão da tarefa")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Tarefa encontrada",
                 content = @Content(schema = @Schema(implementation = Task.class))),
+        @ApiResponse(responseCode = "304", description = "Tarefa não alterada desde a ETag informada em If-None-Match"),
         @ApiResponse(responseCode = "404", description = "Tarefa não encontrada")
     })
     public ResponseEntity<Task> buscarPorId(
-            @Parameter(description = "ID da tarefa") @PathVariable Long id) {
-        Task task = taskService.buscarPorId(id);
+            @Parameter(description = "ID da tarefa") @PathVariable Long id,
+            WebRequest request) {
+        Task task = taskService.buscarPorId(id).orElseThrow(() -> ResourceNotFoundException.tarefa(id));
+        if (request.checkNotModified(etagTarefa(task, request))) {
+            return null;
+        }
         return ResponseEntity.ok(task);
     }
+    
+    private String etagTarefa(Task task, WebRequest request) {
+        return etag(task.getId() + "." + task.getVersao(), request);
+    }
+    
+    private String etagListagem(String categoria, WebRequest request) {
+        return etag("l." + versaoListagens.versao(categoria), request);
+    }
+    
+    private String etagListagemDoDia(String categoria, WebRequest request) {
+        return etag("l." + versaoListagens.versao(categoria) + "." + LocalDate.now(), request);
+    }
+    
+    /**
+     * A mesma versão é servida em JSON, CBOR ou Smile, então o formato entra na ETag (exceto o JSON, o padrão)
+     * e a resposta, inclusive a 304, avisa os caches intermediários de que ela varia com o Accept.
+     */
+    private String etag(String valor, WebRequest request) {
+        HttpServletResponse response = ((NativeWebRequest) request).getNativeResponse(HttpServletResponse.class);
+        if (response != null) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        // sem formato aceitável a resposta será 406, e a ETag não chega a ser usada
+        MediaType formato = paginaStreaming.formatoAceito(request.getHeader(HttpHeaders.ACCEPT));
+        String sufixo = formato == null || MediaType.APPLICATION_JSON.equals(formato) ? "" : "." + formato.getSubtype();
+        return "\"" + valor + sufixo + "\"";
+    }
+    
+    /**
+     * Lê a versão de uma ETag de tarefa, em qualquer formato.
+     */
+    private Long versaoDaETag(String ifMatch, Long id) {
+        String etag = ifMatch.trim();
+        String prefixo = "\"" + id + ".";
+        if (!etag.startsWith(prefixo) || !etag.endsWith("\"") || etag.length() <= prefixo.length() + 1) {
+            throw new PreconditionFailedException("A tarefa " + id + " não corresponde à ETag informada em If-Match");
+        }
+        String versao = etag.substring(prefixo.length(), etag.length() - 1);
+        int formato = versao.indexOf('.');
+        try {
+            return Long.valueOf(formato >= 0 ? versao.substring(0, formato) : versao);
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("A tarefa " + id + " não corresponde à ETag informada em If-Match");
+        }
+    }
+    
+    private boolean isResumo(String fields) {
+        if (CAMPOS_RESUMO.equalsIgnoreCase(fields)) {
+            return true;
+        }
+        if (CAMPOS_COMPLETO.equalsIgnoreCase(fields)) {
+            return false;
+        }
+        throw new IllegalArgumentException("Valor inválido para fields: " + fields + ". Valores permitidos: completo, resumo");
+    }
 }
 
@@ -0,0 +1,34 @@
+package com.taskmaster.dto;
+
+import java.util.List;
+
+public class BatchResultDTO {
+    
+    private int processados;
+    private List<Long> ids;
+    
+    public BatchResultDTO() {
+    }
+    
+    public BatchResultDTO(List<Long> ids) {
+        this.processados = ids.size();
+        this.ids = ids;
+    }
+    
+    public int getProcessados() {
+        return processados;
+    }
+    
+    public void setProcessados(int processados) {
+        this.processados = processados;
+    }
+    
+    public List<Long> getIds() {
+        return ids;
+    }
+    
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
+
@@ -0,0 +1,8 @@
+package com.taskmaster.dto;
+
+/**
+ * Quantidade de tarefas de uma categoria por faixa de data limite: vencidas (antes de hoje), hoje,
+ * semana (de amanhã até daqui a 7 dias) e depois.
+ */
+public record ContagemPrazo(String categoria, Long total, Long vencidas, Long hoje, Long semana, Long depois) {
+}
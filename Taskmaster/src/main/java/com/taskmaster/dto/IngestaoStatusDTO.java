@@ -0,0 +1,67 @@
+package com.taskmaster.dto;
+
+public class IngestaoStatusDTO {
+    
+    public enum Status {
+        PENDENTE, GRAVADA, FALHOU
+    }
+    
+    private String id;
+    private Status status;
+    private Long taskId;
+    private String mensagem;
+    
+    public IngestaoStatusDTO() {
+    }
+    
+    public IngestaoStatusDTO(String id, Status status, Long taskId, String mensagem) {
+        this.id = id;
+        this.status = status;
+        this.taskId = taskId;
+        this.mensagem = mensagem;
+    }
+    
+    public static IngestaoStatusDTO pendente(String id) {
+        return new IngestaoStatusDTO(id, Status.PENDENTE, null, null);
+    }
+    
+    public static IngestaoStatusDTO gravada(String id, Long taskId) {
+        return new IngestaoStatusDTO(id, Status.GRAVADA, taskId, null);
+    }
+    
+    public static IngestaoStatusDTO falhou(String id, String mensagem) {
+        return new IngestaoStatusDTO(id, Status.FALHOU, null, mensagem);
+    }
+    
+    public String getId() {
+        return id;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+    
+    public Long getTaskId() {
+        return taskId;
+    }
+    
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+    
+    public String getMensagem() {
+        return mensagem;
+    }
+    
+    public void setMensagem(String mensagem) {
+        this.mensagem = mensagem;
+    }
+}
@@ -0,0 +1,15 @@
+package com.taskmaster.dto;
+
+import com.taskmaster.model.Task;
+
+import java.time.LocalDate;
+
+/**
+ * Uma tarefa que chegou à data limite ({@code VENCE_HOJE}) ou passou dela ({@code VENCIDA}) em {@code data}.
+ */
+public record PrazoEventoDTO(Tipo tipo, LocalDate data, Task task) {
+    
+    public enum Tipo {
+        VENCE_HOJE, VENCIDA
+    }
+}
@@ -0,0 +1,27 @@
+package com.taskmaster.dto;
+
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDate;
+
+public class TaskBatchItemDTO extends TaskDTO {
+    
+    @NotNull(message = "O ID da tarefa é obrigatório")
+    private Long id;
+    
+    public TaskBatchItemDTO() {
+    }
+    
+    public TaskBatchItemDTO(Long id, String titulo, String descricao, String categoria, LocalDate dataLimite) {
+        super(titulo, descricao, categoria, dataLimite);
+        this.id = id;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+}
+
@@ -21,6 +21,8 @@ public class TaskDTO {
     @NotNull(message = "A data limite é obrigatória")
     private LocalDate dataLimite;
     
+    private Long versao;
+    
     public TaskDTO() {
     }
     
@@ -62,5 +64,13 @@ public class TaskDTO {
     public void setDataLimite(LocalDate dataLimite) {
         this.dataLimite = dataLimite;
     }
+    
+    public Long getVersao() {
+        return versao;
+    }
+    
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
 }
 
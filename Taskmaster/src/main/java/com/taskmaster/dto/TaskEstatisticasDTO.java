@@ -0,0 +1,7 @@
+package com.taskmaster.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record TaskEstatisticasDTO(LocalDate data, ContagemPrazo totais, List<ContagemPrazo> categorias) {
+}
@@ -0,0 +1,73 @@
+package com.taskmaster.dto;
+
+import com.taskmaster.model.Task;
+
+public class TaskEventoDTO {
+    
+    private long sequencia;
+    private String tipo;
+    private Long id;
+    private String categoria;
+    private String categoriaAnterior;
+    private Task task;
+    
+    public TaskEventoDTO() {
+    }
+    
+    public TaskEventoDTO(long sequencia, String tipo, Long id, String categoria, String categoriaAnterior, Task task) {
+        this.sequencia = sequencia;
+        this.tipo = tipo;
+        this.id = id;
+        this.categoria = categoria;
+        this.categoriaAnterior = categoriaAnterior;
+        this.task = task;
+    }
+    
+    public long getSequencia() {
+        return sequencia;
+    }
+    
+    public void setSequencia(long sequencia) {
+        this.sequencia = sequencia;
+    }
+    
+    public String getTipo() {
+        return tipo;
+    }
+    
+    public void setTipo(String tipo) {
+        this.tipo = tipo;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getCategoria() {
+        return categoria;
+    }
+    
+    public void setCategoria(String categoria) {
+        this.categoria = categoria;
+    }
+    
+    public String getCategoriaAnterior() {
+        return categoriaAnterior;
+    }
+    
+    public void setCategoriaAnterior(String categoriaAnterior) {
+        this.categoriaAnterior = categoriaAnterior;
+    }
+    
+    public Task getTask() {
+        return task;
+    }
+    
+    public void setTask(Task task) {
+        this.task = task;
+    }
+}
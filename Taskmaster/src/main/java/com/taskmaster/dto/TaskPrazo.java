@@ -0,0 +1,6 @@
+package com.taskmaster.dto;
+
+import java.time.LocalDate;
+
+public record TaskPrazo(Long id, LocalDate dataLimite) {
+}
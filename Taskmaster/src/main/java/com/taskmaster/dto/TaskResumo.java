@@ -0,0 +1,7 @@
+package com.taskmaster.dto;
+
+import java.time.LocalDate;
+
+public record TaskResumo(Long id, String titulo, String categoria, LocalDate dataLimite) {
+}
+
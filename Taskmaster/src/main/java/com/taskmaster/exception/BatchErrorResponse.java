@@ -0,0 +1,17 @@
+package com.taskmaster.exception;
+
+import java.util.List;
+
+public class BatchErrorResponse extends ErrorResponse {
+    
+    private final List<BatchItemError> itens;
+    
+    public BatchErrorResponse(String erro, String mensagem, List<BatchItemError> itens) {
+        super(erro, mensagem);
+        this.itens = List.copyOf(itens);
+    }
+    
+    public List<BatchItemError> getItens() {
+        return itens;
+    }
+}
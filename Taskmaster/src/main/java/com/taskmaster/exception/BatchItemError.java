@@ -0,0 +1,42 @@
+package com.taskmaster.exception;
+
+public class BatchItemError {
+    
+    private int indice;
+    private Long id;
+    private String mensagem;
+    
+    public BatchItemError() {
+    }
+    
+    public BatchItemError(int indice, Long id, String mensagem) {
+        this.indice = indice;
+        this.id = id;
+        this.mensagem = mensagem;
+    }
+    
+    public int getIndice() {
+        return indice;
+    }
+    
+    public void setIndice(int indice) {
+        this.indice = indice;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getMensagem() {
+        return mensagem;
+    }
+    
+    public void setMensagem(String mensagem) {
+        this.mensagem = mensagem;
+    }
+}
+
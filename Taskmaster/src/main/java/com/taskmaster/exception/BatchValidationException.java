@@ -0,0 +1,18 @@
+package com.taskmaster.exception;
+
+import java.util.List;
+
+public class BatchValidationException extends RuntimeException {
+    
+    private final List<BatchItemError> erros;
+    
+    public BatchValidationException(List<BatchItemError> erros) {
+        super("O lote contém " + erros.size() + " item(ns) inválido(s)");
+        this.erros = erros;
+    }
+    
+    public List<BatchItemError> getErros() {
+        return erros;
+    }
+}
+
@@ -1,36 +1,23 @@
 package com.taskmaster.exception;
 
+/**
+ * Corpo das respostas de erro. É imutável, para que as respostas de mensagem fixa possam ser compartilhadas.
+ */
 public class ErrorResponse {
     
-    private String erro;
-    private String mensagem;
-    
-    public ErrorResponse() {
-    }
+    private final String erro;
+    private final String mensagem;
     
     public ErrorResponse(String erro, String mensagem) {
         this.erro = erro;
         this.mensagem = mensagem;
     }
     
-    public ErrorResponse(String mensagem) {
-        this.mensagem = mensagem;
-    }
-    
     public String getErro() {
         return erro;
     }
     
-    public void setErro(String erro) {
-        this.erro = erro;
-    }
-    
     public String getMensagem() {
         return mensagem;
     }
-    
-    public void setMensagem(String mensagem) {
-        this.mensagem = mensagem;
-    }
 }
-
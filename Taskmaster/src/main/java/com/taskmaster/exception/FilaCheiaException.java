@@ -0,0 +1,8 @@
+package com.taskmaster.exception;
+
+public class FilaCheiaException extends RuntimeException {
+    
+    public FilaCheiaException(String message) {
+        super(message);
+    }
+}
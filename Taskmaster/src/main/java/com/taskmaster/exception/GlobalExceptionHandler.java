@@ -1,29 +1,87 @@
 package com.taskmaster.exception;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.validation.ObjectError;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Converte as exceções em respostas de erro. Os corpos de mensagem fixa são montados uma única vez,
+ * e os de validação ficam guardados por mensagem (as mensagens vêm das anotações do {@code TaskDTO},
+ * então são poucas); o {@link ErrorResponse} é imutável e pode ser compartilhado entre as respostas.
+ */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
     
+    private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+    private static final int MAXIMO_MENSAGENS_DE_VALIDACAO = 256;
+    
+    private static final ErrorResponse CONFLITO_CONCORRENTE =
+            new ErrorResponse("CONFLICT", "A tarefa foi alterada por outra requisição. Tente novamente.");
+    private static final ErrorResponse BANCO_SOBRECARREGADO =
+            new ErrorResponse("SERVICE_UNAVAILABLE", "O banco de dados está sobrecarregado. Tente novamente em instantes.");
+    private static final ErrorResponse ERRO_INTERNO =
+            new ErrorResponse("INTERNAL_SERVER_ERROR", "Ocorreu um erro interno no servidor. Tente novamente mais tarde.");
+    private static final ErrorResponse VALIDACAO_SEM_MENSAGEM = new ErrorResponse("VALIDATION_ERROR", "Erro de validação");
+    
+    private final Map<String, ErrorResponse> errosDeValidacao = new ConcurrentHashMap<>();
+    
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleResourceNotFoundException(ResourceNotFoundException ex) {
         ErrorResponse error = new ErrorResponse("NOT_FOUND", ex.getMessage());
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
     
+    @ExceptionHandler(VersionConflictException.class)
+    public ResponseEntity<ErrorResponse> handleVersionConflictException(VersionConflictException ex) {
+        ErrorResponse error = new ErrorResponse("CONFLICT", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+    
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailedException(PreconditionFailedException ex) {
+        ErrorResponse error = new ErrorResponse("PRECONDITION_FAILED", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error);
+    }
+    
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(ObjectOptimisticLockingFailureException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(CONFLITO_CONCORRENTE);
+    }
+    
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationException(MethodArgumentNotValidException ex) {
-        String errorMessage = ex.getBindingResult().getAllErrors().stream()
-                .findFirst()
-                .map(error -> error.getDefaultMessage())
-                .orElse("Erro de validação");
+        List<ObjectError> errors = ex.getBindingResult().getAllErrors();
+        String errorMessage = errors.isEmpty() ? null : errors.get(0).getDefaultMessage();
+        if (errorMessage == null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(VALIDACAO_SEM_MENSAGEM);
+        }
         
-        ErrorResponse error = new ErrorResponse("VALIDATION_ERROR", errorMessage);
+        ErrorResponse error = errosDeValidacao.get(errorMessage);
+        if (error == null) {
+            error = new ErrorResponse("VALIDATION_ERROR", errorMessage);
+            if (errosDeValidacao.size() < MAXIMO_MENSAGENS_DE_VALIDACAO) {
+                errosDeValidacao.putIfAbsent(errorMessage, error);
+            }
+        }
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+    
+    @ExceptionHandler(BatchValidationException.class)
+    public ResponseEntity<BatchErrorResponse> handleBatchValidationException(BatchValidationException ex) {
+        BatchErrorResponse error = new BatchErrorResponse("BATCH_VALIDATION_ERROR", ex.getMessage(), ex.getErros());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
     
@@ -33,11 +91,40 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
     
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<ErrorResponse> handleCannotCreateTransactionException(CannotCreateTransactionException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(BANCO_SOBRECARREGADO);
+    }
+    
+    @ExceptionHandler(FilaCheiaException.class)
+    public ResponseEntity<ErrorResponse> handleFilaCheiaException(FilaCheiaException ex) {
+        ErrorResponse error = new ErrorResponse("SERVICE_UNAVAILABLE", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+    
+    @ExceptionHandler(IndiceEmConstrucaoException.class)
+    public ResponseEntity<ErrorResponse> handleIndiceEmConstrucaoException(IndiceEmConstrucaoException ex) {
+        ErrorResponse error = new ErrorResponse("SERVICE_UNAVAILABLE", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(error);
+    }
+    
+    /**
+     * Sem corpo: o cliente não aceita nenhum dos formatos em que o corpo de erro poderia ser escrito.
+     * Sem este handler, o de {@link Exception} transformaria a recusa do Accept em um 500.
+     */
+    @ExceptionHandler(HttpMediaTypeNotAcceptableException.class)
+    public ResponseEntity<ErrorResponse> handleHttpMediaTypeNotAcceptableException(HttpMediaTypeNotAcceptableException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+    }
+    
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
-        ErrorResponse error = new ErrorResponse("INTERNAL_SERVER_ERROR", 
-                "Ocorreu um erro interno no servidor. Tente novamente mais tarde.");
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        log.error("Erro não tratado", ex);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ERRO_INTERNO);
     }
 }
 
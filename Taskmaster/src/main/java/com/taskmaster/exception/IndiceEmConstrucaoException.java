@@ -0,0 +1,8 @@
+package com.taskmaster.exception;
+
+public class IndiceEmConstrucaoException extends RuntimeException {
+    
+    public IndiceEmConstrucaoException(String message) {
+        super(message);
+    }
+}
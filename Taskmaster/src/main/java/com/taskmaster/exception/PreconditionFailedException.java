@@ -0,0 +1,8 @@
+package com.taskmaster.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+    
+    public PreconditionFailedException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -1,9 +1,18 @@
 package com.taskmaster.exception;
 
+/**
+ * Recurso inexistente, respondido com 404. Não captura a pilha de chamadas: a exceção só carrega
+ * a mensagem até o {@link GlobalExceptionHandler}, e um cliente insistindo em IDs excluídos não deve
+ * pagar o {@code fillInStackTrace} de uma pilha inteira do Tomcat e do Spring a cada requisição.
+ */
 public class ResourceNotFoundException extends RuntimeException {
     
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
+    }
+    
+    public static ResourceNotFoundException tarefa(Long id) {
+        return new ResourceNotFoundException("Tarefa não encontrada com ID: " + id);
     }
 }
 
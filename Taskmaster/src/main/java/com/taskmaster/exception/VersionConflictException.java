@@ -0,0 +1,9 @@
+package com.taskmaster.exception;
+
+public class VersionConflictException extends RuntimeException {
+    
+    public VersionConflictException(String message) {
+        super(message, null, false, false);
+    }
+}
+
@@ -1,14 +1,22 @@
 package com.taskmaster.model;
 
+import com.taskmaster.repository.CategoriaConverter;
+import com.taskmaster.repository.CategoriaListener;
 import jakarta.persistence.*;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+    @Index(name = "idx_tasks_categoria_data_limite_id", columnList = "categoria_id, data_limite, id"),
+    @Index(name = "idx_tasks_data_limite_id", columnList = "data_limite, id"),
+    @Index(name = "idx_tasks_titulo_id", columnList = "titulo, id")
+})
+@EntityListeners(CategoriaListener.class)
 public class Task {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false, length = 200)
@@ -17,12 +25,17 @@ public class Task {
     @Column(length = 1000)
     private String descricao;
     
-    @Column(nullable = false, length = 50)
+    @Convert(converter = CategoriaConverter.class)
+    @Column(name = "categoria_id", nullable = false)
     private String categoria;
     
     @Column(nullable = false)
     private LocalDate dataLimite;
     
+    @Version
+    @Column(nullable = false)
+    private Long versao;
+    
     public Task() {
     }
     
@@ -72,5 +85,13 @@ public class Task {
     public void setDataLimite(LocalDate dataLimite) {
         this.dataLimite = dataLimite;
     }
+    
+    public Long getVersao() {
+        return versao;
+    }
+    
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
 }
 
@@ -0,0 +1,29 @@
+package com.taskmaster.repository;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Grava a categoria da tarefa como o ID da tabela {@code categorias} e a lê de volta como o nome canônico.
+ * Também converte os parâmetros das consultas por categoria, que passam a comparar inteiros; um nome
+ * desconhecido vira um ID que não existe, e a consulta simplesmente não encontra tarefas.
+ */
+@Converter
+public class CategoriaConverter implements AttributeConverter<String, Integer> {
+    
+    private final CategoriaDicionario categoriaDicionario;
+    
+    public CategoriaConverter(CategoriaDicionario categoriaDicionario) {
+        this.categoriaDicionario = categoriaDicionario;
+    }
+    
+    @Override
+    public Integer convertToDatabaseColumn(String categoria) {
+        return categoria != null ? categoriaDicionario.idDe(categoria) : null;
+    }
+    
+    @Override
+    public String convertToEntityAttribute(Integer id) {
+        return id != null ? categoriaDicionario.nomeDe(id) : null;
+    }
+}
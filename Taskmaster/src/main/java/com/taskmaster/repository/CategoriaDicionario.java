@@ -0,0 +1,221 @@
+package com.taskmaster.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dicionário de categorias, sempre residente em memória. As tarefas guardam apenas o ID da categoria;
+ * o nome é resolvido aqui, de modo que todas as tarefas carregadas compartilham a mesma instância de cada nome.
+ * O dicionário inteiro é carregado na inicialização, e o banco só é consultado quando um nome ou ID ainda não
+ * é conhecido, por exemplo por ter sido criado por outra instância da aplicação. Os nomes que não existem ficam
+ * em um cache negativo limitado, para que consultas por categorias inexistentes não cheguem ao banco.
+ * O banco é acessado pela conexão da transação em andamento, se houver; o dicionário nunca abre uma segunda
+ * conexão no meio de uma transação. Uma categoria criada dentro de uma transação só é vista pela própria
+ * transação até o commit, para que o dicionário nunca aponte para uma linha desfeita por um rollback.
+ */
+@Component
+public class CategoriaDicionario implements SmartInitializingSingleton {
+    
+    public static final int CATEGORIA_INEXISTENTE = -1;
+    
+    private final DataSource dataSource;
+    private final Map<String, Integer> idsPorNome = new ConcurrentHashMap<>();
+    private final Map<Integer, String> nomesPorId = new ConcurrentHashMap<>();
+    private final Cache<String, Boolean> desconhecidas;
+    
+    public CategoriaDicionario(DataSource dataSource,
+                               @Value("${taskmaster.categorias.desconhecidas-maximo:10000}") long desconhecidasMaximo,
+                               @Value("${taskmaster.categorias.desconhecidas-validade:1m}") Duration desconhecidasValidade) {
+        this.dataSource = dataSource;
+        this.desconhecidas = Caffeine.newBuilder()
+                .maximumSize(desconhecidasMaximo)
+                .expireAfterWrite(desconhecidasValidade)
+                .build();
+    }
+    
+    /**
+     * Carrega o dicionário depois que todos os singletons, inclusive as migrações, foram criados.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        executar(conexao -> {
+            try (PreparedStatement select = conexao.prepareStatement("SELECT id, nome FROM categorias");
+                 ResultSet resultado = select.executeQuery()) {
+                while (resultado.next()) {
+                    guardar(resultado.getInt(1), resultado.getString(2));
+                }
+            }
+            return null;
+        });
+    }
+    
+    /**
+     * ID da categoria, ou {@link #CATEGORIA_INEXISTENTE} se ela não existir; não cria a categoria.
+     */
+    public int idDe(String nome) {
+        Integer id = idsPorNome.get(nome);
+        if (id == null) {
+            id = criadasNaTransacao().get(nome);
+        }
+        if (id != null) {
+            return id;
+        }
+        if (desconhecidas.getIfPresent(nome) != null) {
+            return CATEGORIA_INEXISTENTE;
+        }
+        Integer gravado = executar(conexao -> consultarId(conexao, nome));
+        if (gravado == null) {
+            desconhecidas.put(nome, Boolean.TRUE);
+            return CATEGORIA_INEXISTENTE;
+        }
+        return guardar(gravado, nome);
+    }
+    
+    /**
+     * Nome canônico da categoria: a mesma instância é devolvida para todas as tarefas da categoria.
+     */
+    public String nomeDe(Integer id) {
+        String nome = nomesPorId.get(id);
+        if (nome != null) {
+            return nome;
+        }
+        for (Map.Entry<String, Integer> criada : criadasNaTransacao().entrySet()) {
+            if (criada.getValue().equals(id)) {
+                return criada.getKey();
+            }
+        }
+        return executar(conexao -> {
+            try (PreparedStatement select = conexao.prepareStatement("SELECT nome FROM categorias WHERE id = ?")) {
+                select.setInt(1, id);
+                try (ResultSet resultado = select.executeQuery()) {
+                    return resultado.next() ? nomesPorId.get(guardar(id, resultado.getString(1))) : null;
+                }
+            }
+        });
+    }
+    
+    /**
+     * Garante que a categoria exista, criando-a se necessário, e retorna o seu ID. Dentro de uma transação,
+     * a categoria é criada nela e só passa a valer para as demais depois do commit; de preferência, registre
+     * as categorias antes de abrir a transação que grava as tarefas.
+     */
+    public int registrar(String nome) {
+        Integer id = idsPorNome.get(nome);
+        if (id == null) {
+            id = criadasNaTransacao().get(nome);
+        }
+        if (id != null) {
+            return id;
+        }
+        return executar(conexao -> {
+            Integer gravado = consultarId(conexao, nome);
+            if (gravado != null) {
+                return guardar(gravado, nome);
+            }
+            try (PreparedStatement insert = conexao.prepareStatement("INSERT INTO categorias (nome) VALUES (?)")) {
+                insert.setString(1, nome);
+                insert.executeUpdate();
+            } catch (SQLIntegrityConstraintViolationException e) {
+                // criada ao mesmo tempo por outra requisição ou instância
+                return guardar(consultarId(conexao, nome), nome);
+            }
+            int criada = consultarId(conexao, nome);
+            if (!DataSourceUtils.isConnectionTransactional(conexao, dataSource)) {
+                return guardar(criada, nome);
+            }
+            criadasNaTransacao(true).put(nome, criada);
+            return criada;
+        });
+    }
+    
+    public int tamanho() {
+        return nomesPorId.size();
+    }
+    
+    private int guardar(Integer id, String nome) {
+        String canonico = nomesPorId.computeIfAbsent(id, chave -> nome);
+        idsPorNome.putIfAbsent(canonico, id);
+        desconhecidas.invalidate(canonico);
+        return id;
+    }
+    
+    private Map<String, Integer> criadasNaTransacao() {
+        return criadasNaTransacao(false);
+    }
+    
+    /**
+     * Categorias criadas pela transação em andamento, que entram no dicionário apenas no commit.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Integer> criadasNaTransacao(boolean criar) {
+        Map<String, Integer> criadas = (Map<String, Integer>) TransactionSynchronizationManager.getResource(this);
+        if (criadas != null || !criar) {
+            return criadas != null ? criadas : Map.of();
+        }
+        Map<String, Integer> novas = new HashMap<>();
+        TransactionSynchronizationManager.bindResource(this, novas);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            
+            @Override
+            public void afterCommit() {
+                novas.forEach((nome, id) -> guardar(id, nome));
+            }
+            
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(CategoriaDicionario.this);
+            }
+        });
+        return novas;
+    }
+    
+    private Integer consultarId(Connection conexao, String nome) throws SQLException {
+        try (PreparedStatement select = conexao.prepareStatement("SELECT id FROM categorias WHERE nome = ?")) {
+            select.setString(1, nome);
+            try (ResultSet resultado = select.executeQuery()) {
+                return resultado.next() ? resultado.getInt(1) : null;
+            }
+        }
+    }
+    
+    /**
+     * Executa na conexão da transação em andamento ou, fora de uma, em uma conexão em modo auto-commit.
+     */
+    private <T> T executar(OperacaoJdbc<T> operacao) {
+        Connection conexao = DataSourceUtils.getConnection(dataSource);
+        try {
+            if (!DataSourceUtils.isConnectionTransactional(conexao, dataSource)) {
+                conexao.setAutoCommit(true);
+            }
+            return operacao.executar(conexao);
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("Falha ao acessar o dicionário de categorias", e);
+        } finally {
+            DataSourceUtils.releaseConnection(conexao, dataSource);
+        }
+    }
+    
+    @FunctionalInterface
+    private interface OperacaoJdbc<T> {
+        
+        T executar(Connection conexao) throws SQLException;
+    }
+}
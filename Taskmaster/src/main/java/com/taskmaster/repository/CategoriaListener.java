@@ -0,0 +1,26 @@
+package com.taskmaster.repository;
+
+import com.taskmaster.model.Task;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+/**
+ * Garante que a categoria exista antes de gravar uma tarefa. Os serviços registram as categorias antes
+ * de gravar; aqui, uma categoria ainda desconhecida é criada na própria transação da gravação.
+ */
+public class CategoriaListener {
+    
+    private final CategoriaDicionario categoriaDicionario;
+    
+    public CategoriaListener(CategoriaDicionario categoriaDicionario) {
+        this.categoriaDicionario = categoriaDicionario;
+    }
+    
+    @PrePersist
+    @PreUpdate
+    public void registrarCategoria(Task task) {
+        if (task.getCategoria() != null) {
+            categoriaDicionario.registrar(task.getCategoria());
+        }
+    }
+}
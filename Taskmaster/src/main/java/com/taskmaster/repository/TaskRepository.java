@@ -1,20 +1,151 @@
 package com.taskmaster.repository;
 
+import com.taskmaster.dto.ContagemPrazo;
+import com.taskmaster.dto.TaskPrazo;
+import com.taskmaster.dto.TaskResumo;
 import com.taskmaster.model.Task;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
     
     Page<Task> findAll(Pageable pageable);
     
-    List<Task> findByCategoria(String categoria);
-    
     Page<Task> findByCategoria(String categoria, Pageable pageable);
+    
+    Page<TaskResumo> findResumosBy(Pageable pageable);
+    
+    Page<TaskResumo> findResumosByCategoria(String categoria, Pageable pageable);
+    
+    Page<Task> findByDataLimiteBetween(LocalDate de, LocalDate ate, Pageable pageable);
+    
+    Page<Task> findByCategoriaAndDataLimiteBetween(String categoria, LocalDate de, LocalDate ate, Pageable pageable);
+    
+    Page<TaskResumo> findResumosByDataLimiteBetween(LocalDate de, LocalDate ate, Pageable pageable);
+    
+    Page<TaskResumo> findResumosByCategoriaAndDataLimiteBetween(String categoria, LocalDate de, LocalDate ate, Pageable pageable);
+    
+    @Query("select t from Task t where t.categoria = :categoria order by t.id")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Task> streamByCategoria(@Param("categoria") String categoria);
+    
+    @Query("select t from Task t order by t.id")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Task> streamAll();
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Stream<Task> streamBy(Pageable pageable);
+    
+    @Query("select new com.taskmaster.dto.TaskPrazo(t.id, t.dataLimite) from Task t where t.dataLimite >= :de")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<TaskPrazo> streamPrazosAPartirDe(@Param("de") LocalDate de);
+    
+    @Query("select new com.taskmaster.dto.TaskPrazo(t.id, t.dataLimite) from Task t where t.id in :ids")
+    List<TaskPrazo> findPrazosByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query("select t from Task t order by t.dataLimite asc, t.id asc")
+    List<Task> findKeysetFirstPage(Limit limit);
+    
+    @Query("select t from Task t where t.dataLimite >= :dataLimite "
+            + "and (t.dataLimite > :dataLimite or t.id > :id) "
+            + "order by t.dataLimite asc, t.id asc")
+    List<Task> findKeysetPageAfter(@Param("dataLimite") LocalDate dataLimite, @Param("id") Long id, Limit limit);
+    
+    @Query("select t from Task t where t.categoria = :categoria order by t.dataLimite asc, t.id asc")
+    List<Task> findKeysetFirstPageByCategoria(@Param("categoria") String categoria, Limit limit);
+    
+    @Query("select t from Task t where t.categoria = :categoria "
+            + "and t.dataLimite >= :dataLimite and (t.dataLimite > :dataLimite or t.id > :id) "
+            + "order by t.dataLimite asc, t.id asc")
+    List<Task> findKeysetPageAfterByCategoria(@Param("categoria") String categoria,
+                                              @Param("dataLimite") LocalDate dataLimite,
+                                              @Param("id") Long id,
+                                              Limit limit);
+    
+    @Query("select new com.taskmaster.dto.TaskResumo(t.id, t.titulo, t.categoria, t.dataLimite) from Task t "
+            + "order by t.dataLimite asc, t.id asc")
+    List<TaskResumo> findResumoKeysetFirstPage(Limit limit);
+    
+    @Query("select new com.taskmaster.dto.TaskResumo(t.id, t.titulo, t.categoria, t.dataLimite) from Task t "
+            + "where t.dataLimite >= :dataLimite and (t.dataLimite > :dataLimite or t.id > :id) "
+            + "order by t.dataLimite asc, t.id asc")
+    List<TaskResumo> findResumoKeysetPageAfter(@Param("dataLimite") LocalDate dataLimite, @Param("id") Long id, Limit limit);
+    
+    @Query("select new com.taskmaster.dto.TaskResumo(t.id, t.titulo, t.categoria, t.dataLimite) from Task t "
+            + "where t.categoria = :categoria order by t.dataLimite asc, t.id asc")
+    List<TaskResumo> findResumoKeysetFirstPageByCategoria(@Param("categoria") String categoria, Limit limit);
+    
+    @Query("select new com.taskmaster.dto.TaskResumo(t.id, t.titulo, t.categoria, t.dataLimite) from Task t "
+            + "where t.categoria = :categoria "
+            + "and t.dataLimite >= :dataLimite and (t.dataLimite > :dataLimite or t.id > :id) "
+            + "order by t.dataLimite asc, t.id asc")
+    List<TaskResumo> findResumoKeysetPageAfterByCategoria(@Param("categoria") String categoria,
+                                                          @Param("dataLimite") LocalDate dataLimite,
+                                                          @Param("id") Long id,
+                                                          Limit limit);
+    
+    @Query("select new com.taskmaster.dto.ContagemPrazo(t.categoria, count(t), "
+            + "sum(case when t.dataLimite < :hoje then 1 else 0 end), "
+            + "sum(case when t.dataLimite = :hoje then 1 else 0 end), "
+            + "sum(case when t.dataLimite > :hoje and t.dataLimite <= :fimSemana then 1 else 0 end), "
+            + "sum(case when t.dataLimite > :fimSemana then 1 else 0 end)) "
+            + "from Task t group by t.categoria")
+    List<ContagemPrazo> contarPorCategoriaEPrazo(@Param("hoje") LocalDate hoje, @Param("fimSemana") LocalDate fimSemana);
+    
+    /**
+     * Exclui a tarefa em um único comando e retorna o ID da categoria que ela tinha, lido da própria linha
+     * excluída ({@code OLD TABLE}). Vazio se a tarefa não existia.
+     */
+    @Query(value = "select categoria_id from old table (delete from tasks where id = :id)", nativeQuery = true)
+    Optional<Integer> deleteTaskById(@Param("id") Long id);
+    
+    /**
+     * Atualiza a tarefa se a versão coincidir, em um único comando, e retorna o ID da categoria que ela
+     * tinha antes da alteração, lido da própria linha alterada (tabela delta {@code OLD TABLE} do H2).
+     * Vazio se nenhuma linha foi alterada.
+     */
+    @Query(value = "select categoria_id from old table (update tasks set titulo = :titulo, descricao = :descricao, "
+            + "categoria_id = :categoriaId, data_limite = :dataLimite, versao = versao + 1 "
+            + "where id = :id and versao = :versao)", nativeQuery = true)
+    Optional<Integer> updateTaskIfVersionMatches(@Param("id") Long id,
+                                                 @Param("versao") Long versao,
+                                                 @Param("titulo") String titulo,
+                                                 @Param("descricao") String descricao,
+                                                 @Param("categoriaId") int categoriaId,
+                                                 @Param("dataLimite") LocalDate dataLimite);
+    
+    @Query("select t.id as id, t.categoria as categoria from Task t where t.id in :ids")
+    List<IdCategoria> findIdCategoriaByIdIn(@Param("ids") Collection<Long> ids);
+    
+    interface IdCategoria {
+        
+        Long getId();
+        
+        String getCategoria();
+    }
 }
 
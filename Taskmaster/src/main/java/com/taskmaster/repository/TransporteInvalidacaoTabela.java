@@ -0,0 +1,298 @@
+package com.taskmaster.repository;
+
+import com.taskmaster.service.Invalidacao;
+import com.taskmaster.service.TransporteInvalidacao;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Transporte das invalidações pela tabela {@code cache_invalidacoes}, compartilhada pelas instâncias que usam
+ * o mesmo banco. A linha é gravada na transação da escrita, então só fica visível com ela; cada instância
+ * lê em lotes as linhas posteriores à maior sequência que já leu.
+ * Sequências são atribuídas na inserção e não na confirmação, de modo que uma linha pode se tornar visível
+ * depois de outra com sequência maior. Cada sequência pulada na leitura fica registrada como lacuna e é
+ * consultada de novo a cada leitura, até aparecer ou até passar {@code retencao}, quando se supõe que a
+ * transação foi desfeita. O horário das linhas vem do relógio do banco, tanto na gravação quanto na limpeza
+ * das linhas mais antigas que {@code retencao}, e não dos relógios das instâncias.
+ * As invalidações desta instância também são entregues logo após o commit, sem esperar a leitura da tabela,
+ * que as entrega de novo.
+ */
+@Component
+@ConditionalOnProperty(name = "taskmaster.cache.invalidacao.transporte", havingValue = "tabela")
+public class TransporteInvalidacaoTabela implements TransporteInvalidacao, SmartLifecycle {
+    
+    private static final Logger log = LoggerFactory.getLogger(TransporteInvalidacaoTabela.class);
+    private static final String SELECAO = "SELECT sequencia, origem, tarefas, categorias, todas_categorias, "
+            + "DATEDIFF(MILLISECOND, criada_em, CURRENT_TIMESTAMP) FROM cache_invalidacoes ";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CategoriaDicionario categoriaDicionario;
+    private final List<Consumer<Invalidacao>> destinos = new CopyOnWriteArrayList<>();
+    private final long intervaloMs;
+    private final Duration retencao;
+    private final int tamanhoLote;
+    // sequências puladas na leitura, com o instante (System.nanoTime) em que foram notadas
+    private final NavigableMap<Long, Long> lacunas = new ConcurrentSkipListMap<>();
+    private final AtomicLong atraso = new AtomicLong();
+    private volatile long ultimaSequencia;
+    private volatile Thread thread;
+    private volatile boolean ativo;
+    
+    public TransporteInvalidacaoTabela(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                       CategoriaDicionario categoriaDicionario, MeterRegistry meterRegistry,
+                                       @Value("${taskmaster.cache.invalidacao.intervalo:200ms}") Duration intervalo,
+                                       @Value("${taskmaster.cache.invalidacao.retencao:10m}") Duration retencao,
+                                       @Value("${taskmaster.cache.invalidacao.tamanho-lote:500}") int tamanhoLote) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.categoriaDicionario = categoriaDicionario;
+        this.intervaloMs = intervalo.toMillis();
+        this.retencao = retencao;
+        this.tamanhoLote = tamanhoLote;
+        meterRegistry.gauge("taskmaster.cache.invalidacoes.atraso", atraso);
+        meterRegistry.gaugeMapSize("taskmaster.cache.invalidacoes.lacunas", Tags.empty(), lacunas);
+    }
+    
+    /**
+     * Grava a invalidação na transação em andamento ou, fora de uma, em uma transação própria.
+     */
+    @Override
+    public void publicar(Invalidacao invalidacao) {
+        String categorias = invalidacao.categorias().stream()
+                .map(categoriaDicionario::idDe)
+                .filter(id -> id != CategoriaDicionario.CATEGORIA_INEXISTENTE)
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+        String tarefas = invalidacao.tarefas().stream().map(String::valueOf).collect(Collectors.joining(","));
+        transactionTemplate.executeWithoutResult(status -> {
+            KeyHolder chave = new GeneratedKeyHolder();
+            jdbcTemplate.update(conexao -> {
+                PreparedStatement comando = conexao.prepareStatement(
+                        "INSERT INTO cache_invalidacoes (origem, tarefas, categorias, todas_categorias, criada_em) "
+                                + "VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP)", new String[] {"sequencia"});
+                comando.setString(1, invalidacao.origem());
+                comando.setString(2, tarefas);
+                comando.setString(3, categorias);
+                comando.setBoolean(4, invalidacao.todasAsCategorias());
+                return comando;
+            }, chave);
+            Invalidacao publicada = invalidacao.comSequencia(chave.getKey().longValue());
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    entregar(publicada);
+                }
+            });
+        });
+    }
+    
+    @Override
+    public void assinar(Consumer<Invalidacao> destino) {
+        destinos.add(destino);
+    }
+    
+    /**
+     * Lê e entrega as lacunas que apareceram e o próximo lote de invalidações.
+     *
+     * @return o número de invalidações do próximo lote, sem contar as lacunas
+     */
+    int ler() {
+        lerLacunas();
+        List<Linha> linhas = jdbcTemplate.query(SELECAO + "WHERE sequencia > ? ORDER BY sequencia FETCH FIRST ? ROWS ONLY",
+                this::linha, ultimaSequencia, tamanhoLote);
+        long agora = System.nanoTime();
+        for (Linha linha : linhas) {
+            for (long pulada = ultimaSequencia + 1; pulada < linha.sequencia(); pulada++) {
+                lacunas.put(pulada, agora);
+            }
+            entregar(linha);
+            ultimaSequencia = linha.sequencia();
+        }
+        return linhas.size();
+    }
+    
+    /**
+     * Consulta as lacunas ainda pendentes; as mais antigas que {@code retencao} são abandonadas.
+     *
+     * @return o número de lacunas que apareceram
+     */
+    int lerLacunas() {
+        long limite = System.nanoTime() - retencao.toNanos();
+        lacunas.values().removeIf(notada -> notada - limite < 0);
+        if (lacunas.isEmpty()) {
+            return 0;
+        }
+        List<Long> pendentes = lacunas.keySet().stream().limit(tamanhoLote).toList();
+        List<Linha> linhas = jdbcTemplate.query(SELECAO + "WHERE sequencia IN ("
+                        + String.join(",", Collections.nCopies(pendentes.size(), "?")) + ") ORDER BY sequencia",
+                this::linha, pendentes.toArray());
+        for (Linha linha : linhas) {
+            entregar(linha);
+            lacunas.remove(linha.sequencia());
+        }
+        return linhas.size();
+    }
+    
+    /**
+     * A última sequência lida, ou a anterior à lacuna pendente mais antiga. A última sequência é lida antes
+     * das lacunas, que são registradas antes dela avançar.
+     */
+    @Override
+    public long consolidada() {
+        long ultima = ultimaSequencia;
+        Map.Entry<Long, Long> lacuna = lacunas.firstEntry();
+        return lacuna != null ? Math.min(ultima, lacuna.getKey() - 1) : ultima;
+    }
+    
+    /**
+     * As sequências vêm da tabela, compartilhada por todas as instâncias.
+     */
+    @Override
+    public String epoca() {
+        return "";
+    }
+    
+    int lacunasPendentes() {
+        return lacunas.size();
+    }
+    
+    int limpar() {
+        return transactionTemplate.execute(status -> jdbcTemplate.update(
+                "DELETE FROM cache_invalidacoes WHERE criada_em < DATEADD(MILLISECOND, ?, CURRENT_TIMESTAMP)",
+                -retencao.toMillis()));
+    }
+    
+    /**
+     * Começa a partir da última linha gravada: os caches desta instância ainda estão vazios.
+     */
+    void posicionarNoFim() {
+        Long maior = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(sequencia), 0) FROM cache_invalidacoes", Long.class);
+        ultimaSequencia = maior != null ? maior : 0;
+        lacunas.clear();
+    }
+    
+    private void entregar(Linha linha) {
+        entregar(linha.invalidacao());
+        atraso.set(linha.atrasoMs());
+    }
+    
+    private void entregar(Invalidacao invalidacao) {
+        for (Consumer<Invalidacao> destino : destinos) {
+            destino.accept(invalidacao);
+        }
+    }
+    
+    private Linha linha(ResultSet resultado, int numero) throws SQLException {
+        return new Linha(resultado.getLong(1), new Invalidacao(resultado.getString(2), ids(resultado.getString(3)),
+                categorias(resultado.getString(4)), resultado.getBoolean(5), resultado.getLong(1)), resultado.getLong(6));
+    }
+    
+    private List<Long> ids(String valor) {
+        if (valor == null || valor.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(valor.split(",")).map(Long::valueOf).toList();
+    }
+    
+    private Set<String> categorias(String valor) {
+        if (valor == null || valor.isEmpty()) {
+            return Set.of();
+        }
+        Set<String> nomes = new LinkedHashSet<>();
+        for (String id : valor.split(",")) {
+            String nome = categoriaDicionario.nomeDe(Integer.valueOf(id));
+            if (nome != null) {
+                nomes.add(nome);
+            }
+        }
+        return nomes;
+    }
+    
+    private void acompanhar() {
+        long proximaLimpeza = 0;
+        while (ativo) {
+            try {
+                int lidas;
+                do {
+                    lidas = ler();
+                } while (lidas == tamanhoLote && ativo);
+                if (System.currentTimeMillis() >= proximaLimpeza) {
+                    limpar();
+                    proximaLimpeza = System.currentTimeMillis() + Math.max(retencao.toMillis() / 10, 1000);
+                }
+            } catch (DataAccessException e) {
+                log.warn("Falha ao ler as invalidações de cache; nova tentativa em {} ms", intervaloMs, e);
+            }
+            try {
+                Thread.sleep(intervaloMs);
+            } catch (InterruptedException e) {
+                if (!ativo) {
+                    return;
+                }
+            }
+        }
+    }
+    
+    @Override
+    public void start() {
+        posicionarNoFim();
+        ativo = true;
+        thread = new Thread(this::acompanhar, "invalidacao-cache");
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    @Override
+    public void stop() {
+        ativo = false;
+        Thread atual = thread;
+        if (atual != null) {
+            atual.interrupt();
+            try {
+                atual.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return ativo;
+    }
+    
+    private record Linha(long sequencia, Invalidacao invalidacao, long atrasoMs) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.taskmaster.service;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * O que uma escrita confirmada torna obsoleto nos caches: as tarefas pelo ID e as listagens das categorias
+ * afetadas, ou de todas as categorias quando a categoria da tarefa não é conhecida.
+ * {@code origem} identifica a instância que fez a escrita, que já invalidou os próprios caches.
+ * {@code sequencia} é atribuída pelo {@link TransporteInvalidacao} e é a mesma em todas as instâncias;
+ * antes da publicação, vale 0.
+ */
+public record Invalidacao(String origem, List<Long> tarefas, Set<String> categorias, boolean todasAsCategorias,
+                          long sequencia) {
+    
+    public Invalidacao(String origem, List<Long> tarefas, Set<String> categorias, boolean todasAsCategorias) {
+        this(origem, tarefas, categorias, todasAsCategorias, 0);
+    }
+    
+    public Invalidacao comSequencia(long sequencia) {
+        return new Invalidacao(origem, tarefas, categorias, todasAsCategorias, sequencia);
+    }
+    
+    /**
+     * Se a invalidação torna obsoletas as listagens da categoria.
+     */
+    public boolean afeta(String categoria) {
+        return todasAsCategorias || categorias.contains(categoria);
+    }
+}
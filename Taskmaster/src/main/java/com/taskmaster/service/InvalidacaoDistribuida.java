@@ -0,0 +1,54 @@
+package com.taskmaster.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Mantém os caches locais coerentes entre as instâncias atrás do balanceador. Cada escrita publica o que
+ * tornou obsoleto no {@link TransporteInvalidacao}, ainda dentro da sua transação; as invalidações vindas
+ * de outras instâncias são aplicadas aqui como se a escrita fosse local. As da própria instância são ignoradas,
+ * já aplicadas pelo {@link TaskCacheInvalidator}.
+ */
+@Component
+public class InvalidacaoDistribuida {
+    
+    private final TaskCacheInvalidator invalidator;
+    private final TransporteInvalidacao transporte;
+    private final Counter publicadas;
+    private final Counter recebidas;
+    
+    public InvalidacaoDistribuida(TaskCacheInvalidator invalidator, TransporteInvalidacao transporte,
+                                  MeterRegistry meterRegistry) {
+        this.invalidator = invalidator;
+        this.transporte = transporte;
+        this.publicadas = meterRegistry.counter("taskmaster.cache.invalidacoes.publicadas");
+        this.recebidas = meterRegistry.counter("taskmaster.cache.invalidacoes.recebidas");
+        transporte.assinar(this::receber);
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        publicar(invalidator.descrever(event));
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onTaskBatchChanged(TaskBatchChangedEvent event) {
+        publicar(invalidator.descrever(event));
+    }
+    
+    private void publicar(Invalidacao invalidacao) {
+        transporte.publicar(invalidacao);
+        publicadas.increment();
+    }
+    
+    void receber(Invalidacao invalidacao) {
+        if (invalidator.getInstancia().equals(invalidacao.origem())) {
+            return;
+        }
+        invalidator.aplicar(invalidacao);
+        recebidas.increment();
+    }
+}
@@ -0,0 +1,17 @@
+package com.taskmaster.service;
+
+import com.taskmaster.dto.PrazoEventoDTO;
+
+import java.util.List;
+
+/**
+ * Recebe os eventos de prazo do {@link PrazoService}. Todo bean que implementa esta interface é notificado.
+ */
+public interface OuvintePrazo {
+    
+    /**
+     * Recebe os eventos de um lote de tarefas vencidas, na thread do motor de prazos: um ouvinte lento
+     * atrasa os seguintes. Exceções são registradas e não impedem a entrega aos demais ouvintes.
+     */
+    void notificar(List<PrazoEventoDTO> eventos);
+}
@@ -0,0 +1,31 @@
+package com.taskmaster.service;
+
+import com.taskmaster.dto.PrazoEventoDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Registra os eventos de prazo no log da aplicação.
+ */
+@Component
+@ConditionalOnProperty(name = "taskmaster.prazos.log.habilitado", havingValue = "true", matchIfMissing = true)
+public class PrazoLog implements OuvintePrazo {
+    
+    private static final Logger log = LoggerFactory.getLogger(PrazoLog.class);
+    
+    @Override
+    public void notificar(List<PrazoEventoDTO> eventos) {
+        for (PrazoEventoDTO evento : eventos) {
+            if (evento.tipo() == PrazoEventoDTO.Tipo.VENCE_HOJE) {
+                log.info("Tarefa {} vence hoje: {}", evento.task().getId(), evento.task().getTitulo());
+            } else {
+                log.info("Tarefa {} venceu em {}: {}", evento.task().getId(), evento.task().getDataLimite(),
+                        evento.task().getTitulo());
+            }
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.taskmaster.service;
+
+import com.taskmaster.dto.PrazoEventoDTO;
+import com.taskmaster.dto.TaskPrazo;
+import com.taskmaster.model.Task;
+import com.taskmaster.repository.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Motor de prazos: avisa os {@link OuvintePrazo} quando uma tarefa chega à data limite e quando passa dela.
+ * As tarefas com prazo a partir de hoje ficam em uma {@link RodaTemporal} com um tick por dia, carregada do banco
+ * na inicialização e mantida em dia pelos eventos de escrita, locais e recebidos de outras instâncias. A cada
+ * {@code intervalo} a roda avança até o dia corrente, e o custo é proporcional às tarefas que vencem, não ao total.
+ * As tarefas vencidas são relidas do banco antes do aviso, e uma tarefa cuja data limite mudou sem que a roda
+ * soubesse é apenas reagendada.
+ */
+@Service
+@ConditionalOnProperty(name = "taskmaster.prazos.habilitado", havingValue = "true", matchIfMissing = true)
+public class PrazoService implements SmartLifecycle {
+    
+    private static final Logger log = LoggerFactory.getLogger(PrazoService.class);
+    private static final int TAMANHO_LOTE = 500;
+    
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate leitura;
+    private final List<OuvintePrazo> ouvintes;
+    private final TaskCacheInvalidator invalidator;
+    private final ZoneId fuso;
+    private final long intervaloMs;
+    private final Counter venceHoje;
+    private final Counter vencidas;
+    private RodaTemporal roda;
+    private volatile Thread thread;
+    private volatile boolean ativo;
+    
+    public PrazoService(TaskRepository taskRepository, PlatformTransactionManager transactionManager,
+                        List<OuvintePrazo> ouvintes, TaskCacheInvalidator invalidator, TransporteInvalidacao transporte,
+                        MeterRegistry meterRegistry,
+                        @Value("${taskmaster.prazos.fuso:}") String fuso,
+                        @Value("${taskmaster.prazos.intervalo:1m}") Duration intervalo) {
+        this.taskRepository = taskRepository;
+        this.leitura = new TransactionTemplate(transactionManager);
+        this.leitura.setReadOnly(true);
+        this.ouvintes = ouvintes;
+        this.invalidator = invalidator;
+        this.fuso = fuso.isEmpty() ? ZoneId.systemDefault() : ZoneId.of(fuso);
+        this.intervaloMs = intervalo.toMillis();
+        this.venceHoje = meterRegistry.counter("taskmaster.prazos.eventos", "tipo", PrazoEventoDTO.Tipo.VENCE_HOJE.name());
+        this.vencidas = meterRegistry.counter("taskmaster.prazos.eventos", "tipo", PrazoEventoDTO.Tipo.VENCIDA.name());
+        meterRegistry.gauge("taskmaster.prazos.agendadas", this, PrazoService::agendadas);
+        transporte.assinar(this::receber);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.getTipo() == TaskChangedEvent.Tipo.EXCLUIDA) {
+            cancelar(event.getId());
+        } else {
+            agendar(event.getId(), event.getTask().getDataLimite());
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskBatchChanged(TaskBatchChangedEvent event) {
+        if (event.getTipo() == TaskChangedEvent.Tipo.EXCLUIDA) {
+            event.getIds().forEach(this::cancelar);
+        } else {
+            event.getTasks().forEach(task -> agendar(task.getId(), task.getDataLimite()));
+        }
+    }
+    
+    /**
+     * Escritas de outras instâncias chegam só com os IDs: a data limite é relida do banco.
+     */
+    void receber(Invalidacao invalidacao) {
+        if (invalidator.getInstancia().equals(invalidacao.origem())) {
+            return;
+        }
+        List<Long> ids = invalidacao.tarefas();
+        for (int inicio = 0; inicio < ids.size(); inicio += TAMANHO_LOTE) {
+            List<Long> lote = ids.subList(inicio, Math.min(inicio + TAMANHO_LOTE, ids.size()));
+            List<TaskPrazo> prazos = leitura.execute(status -> taskRepository.findPrazosByIdIn(lote));
+            Set<Long> restantes = new HashSet<>(lote);
+            for (TaskPrazo prazo : prazos) {
+                agendar(prazo.id(), prazo.dataLimite());
+                restantes.remove(prazo.id());
+            }
+            restantes.forEach(this::cancelar);
+        }
+    }
+    
+    /**
+     * Monta a roda com as tarefas cuja data limite é {@code hoje} ou posterior. As que vencem hoje são
+     * avisadas no primeiro avanço, mesmo que já tenham sido antes de um reinício.
+     */
+    void carregar(LocalDate hoje) {
+        synchronized (this) {
+            roda = new RodaTemporal(hoje.toEpochDay() - 1);
+        }
+        leitura.executeWithoutResult(status -> {
+            try (Stream<TaskPrazo> prazos = taskRepository.streamPrazosAPartirDe(hoje)) {
+                prazos.forEach(prazo -> agendar(prazo.id(), prazo.dataLimite()));
+            }
+        });
+        log.info("Motor de prazos carregado com {} tarefas", agendadas());
+    }
+    
+    /**
+     * Avança a roda até {@code hoje} e avisa os ouvintes sobre as tarefas que venceram.
+     *
+     * @return o número de eventos emitidos
+     */
+    int avancarAte(LocalDate hoje) {
+        List<RodaTemporal.Vencimento> vencimentos;
+        synchronized (this) {
+            vencimentos = roda.avancar(hoje.toEpochDay());
+        }
+        int emitidos = 0;
+        for (int inicio = 0; inicio < vencimentos.size(); inicio += TAMANHO_LOTE) {
+            List<Long> ids = vencimentos.subList(inicio, Math.min(inicio + TAMANHO_LOTE, vencimentos.size())).stream()
+                    .map(RodaTemporal.Vencimento::id)
+                    .toList();
+            List<Task> tasks = leitura.execute(status -> taskRepository.findAllById(ids));
+            List<PrazoEventoDTO> eventos = new ArrayList<>(tasks.size());
+            for (Task task : tasks) {
+                LocalDate dataLimite = task.getDataLimite();
+                if (dataLimite.isAfter(hoje)) {
+                    agendarSeAusente(task.getId(), dataLimite.toEpochDay());
+                } else if (dataLimite.isEqual(hoje)) {
+                    eventos.add(new PrazoEventoDTO(PrazoEventoDTO.Tipo.VENCE_HOJE, hoje, task));
+                    agendarSeAusente(task.getId(), dataLimite.toEpochDay() + 1);
+                } else {
+                    eventos.add(new PrazoEventoDTO(PrazoEventoDTO.Tipo.VENCIDA, hoje, task));
+                }
+            }
+            notificar(eventos);
+            emitidos += eventos.size();
+        }
+        return emitidos;
+    }
+    
+    private synchronized void agendar(Long id, LocalDate dataLimite) {
+        if (roda == null) {
+            return;
+        }
+        long tick = dataLimite.toEpochDay();
+        Long agendado = roda.tickDe(id);
+        if (tick <= roda.atual() && agendado != null && agendado == tick + 1) {
+            // já avisada de que vence hoje; só falta o aviso de vencida
+            return;
+        }
+        roda.agendar(id, tick);
+    }
+    
+    /**
+     * Reagenda uma tarefa que acabou de vencer, a menos que uma escrita a tenha agendado nesse meio-tempo.
+     */
+    private synchronized void agendarSeAusente(Long id, long tick) {
+        if (roda.tickDe(id) == null) {
+            roda.agendar(id, tick);
+        }
+    }
+    
+    private synchronized void cancelar(Long id) {
+        if (roda != null) {
+            roda.cancelar(id);
+        }
+    }
+    
+    private synchronized int agendadas() {
+        return roda != null ? roda.tamanho() : 0;
+    }
+    
+    private void notificar(List<PrazoEventoDTO> eventos) {
+        if (eventos.isEmpty()) {
+            return;
+        }
+        for (PrazoEventoDTO evento : eventos) {
+            (evento.tipo() == PrazoEventoDTO.Tipo.VENCE_HOJE ? venceHoje : vencidas).increment();
+        }
+        for (OuvintePrazo ouvinte : ouvintes) {
+            try {
+                ouvinte.notificar(eventos);
+            } catch (RuntimeException e) {
+                log.warn("Falha ao avisar {} sobre {} prazos", ouvinte.getClass().getSimpleName(), eventos.size(), e);
+            }
+        }
+    }
+    
+    private void acompanhar() {
+        while (ativo) {
+            try {
+                avancarAte(LocalDate.now(fuso));
+            } catch (RuntimeException e) {
+                log.warn("Falha ao avançar o motor de prazos; nova tentativa em {} ms", intervaloMs, e);
+            }
+            try {
+                Thread.sleep(intervaloMs);
+            } catch (InterruptedException e) {
+                if (!ativo) {
+                    return;
+                }
+            }
+        }
+    }
+    
+    @Override
+    public void start() {
+        carregar(LocalDate.now(fuso));
+        ativo = true;
+        thread = new Thread(this::acompanhar, "prazos");
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    @Override
+    public void stop() {
+        ativo = false;
+        Thread atual = thread;
+        if (atual != null) {
+            atual.interrupt();
+            try {
+                atual.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return ativo;
+    }
+}
@@ -0,0 +1,102 @@
+package com.taskmaster.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmaster.dto.PrazoEventoDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Envia os eventos de prazo por POST para {@code taskmaster.prazos.webhook.url}, como um array JSON com até
+ * {@code tamanho-lote} eventos por requisição. Só é criado quando a URL está configurada.
+ * Um envio recusado ou sem resposta é registrado e contado, mas não é repetido.
+ */
+@Component
+@ConditionalOnProperty(name = "taskmaster.prazos.webhook.url")
+public class PrazoWebhook implements OuvintePrazo {
+    
+    private static final Logger log = LoggerFactory.getLogger(PrazoWebhook.class);
+    
+    private final ObjectMapper objectMapper;
+    private final HttpClient client;
+    private final URI url;
+    private final Duration timeout;
+    private final int tamanhoLote;
+    private final Counter enviados;
+    private final Counter falhas;
+    
+    public PrazoWebhook(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                        @Value("${taskmaster.prazos.webhook.url}") URI url,
+                        @Value("${taskmaster.prazos.webhook.timeout:5s}") Duration timeout,
+                        @Value("${taskmaster.prazos.webhook.tamanho-lote:100}") int tamanhoLote) {
+        this.objectMapper = objectMapper;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .build();
+        this.url = url;
+        this.timeout = timeout;
+        this.tamanhoLote = tamanhoLote;
+        this.enviados = meterRegistry.counter("taskmaster.prazos.webhook", "resultado", "enviado");
+        this.falhas = meterRegistry.counter("taskmaster.prazos.webhook", "resultado", "falha");
+    }
+    
+    @Override
+    public void notificar(List<PrazoEventoDTO> eventos) {
+        for (int inicio = 0; inicio < eventos.size(); inicio += tamanhoLote) {
+            if (!enviar(eventos.subList(inicio, Math.min(inicio + tamanhoLote, eventos.size())))) {
+                return;
+            }
+        }
+    }
+    
+    /**
+     * @return {@code false} se a thread foi interrompida e os lotes restantes não devem ser enviados
+     */
+    private boolean enviar(List<PrazoEventoDTO> lote) {
+        HttpRequest request = HttpRequest.newBuilder(url)
+                .timeout(timeout)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(serializar(lote)))
+                .build();
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() / 100 == 2) {
+                enviados.increment(lote.size());
+            } else {
+                falhas.increment(lote.size());
+                log.warn("Webhook de prazos respondeu {} para {} eventos", response.statusCode(), lote.size());
+            }
+        } catch (IOException e) {
+            falhas.increment(lote.size());
+            log.warn("Falha ao enviar {} eventos ao webhook de prazos: {}", lote.size(), e.toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return true;
+    }
+    
+    private byte[] serializar(List<PrazoEventoDTO> lote) {
+        try {
+            return objectMapper.writeValueAsBytes(lote);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.taskmaster.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Roda temporal hierárquica: {@value #NIVEIS} níveis de {@value #POSICOES} posições, em que cada posição de um
+ * nível cobre uma volta inteira do nível abaixo. Agendar e cancelar custam O(1); avançar um tick custa
+ * o número de itens que vencem nele, mais a redistribuição de uma posição de nível superior a cada volta
+ * completa do nível abaixo. Itens além do alcance do último nível esperam em uma lista à parte e são
+ * reexaminados a cada volta dele.
+ * Cada item é identificado por um ID e agendado para um único tick; agendar de novo o mesmo ID o move.
+ * Não é thread-safe.
+ */
+class RodaTemporal {
+    
+    static final int NIVEIS = 4;
+    static final int POSICOES = 64;
+    private static final int BITS = 6;
+    private static final int MASCARA = POSICOES - 1;
+    
+    private final Entrada[][] posicoes = new Entrada[NIVEIS][POSICOES];
+    private final Map<Long, Entrada> entradas = new HashMap<>();
+    private Entrada alemDoAlcance;
+    private Entrada vencidas;
+    private long atual;
+    
+    /**
+     * @param atual o último tick já processado; os itens agendados para ele ou antes vencem no próximo avanço
+     */
+    RodaTemporal(long atual) {
+        this.atual = atual;
+    }
+    
+    long atual() {
+        return atual;
+    }
+    
+    int tamanho() {
+        return entradas.size();
+    }
+    
+    /**
+     * Tick para o qual o item está agendado, ou {@code null} se ele não estiver na roda.
+     */
+    Long tickDe(long id) {
+        Entrada entrada = entradas.get(id);
+        return entrada != null ? entrada.tick : null;
+    }
+    
+    void agendar(long id, long tick) {
+        Entrada entrada = entradas.get(id);
+        if (entrada != null) {
+            remover(entrada);
+        } else {
+            entrada = new Entrada(id);
+            entradas.put(id, entrada);
+        }
+        entrada.tick = tick;
+        inserir(entrada);
+    }
+    
+    boolean cancelar(long id) {
+        Entrada entrada = entradas.remove(id);
+        if (entrada == null) {
+            return false;
+        }
+        remover(entrada);
+        return true;
+    }
+    
+    /**
+     * Avança até o tick {@code ate}, inclusive, e retorna os itens vencidos, que deixam a roda.
+     */
+    List<Vencimento> avancar(long ate) {
+        List<Vencimento> vencidos = new ArrayList<>();
+        while (atual < ate) {
+            atual++;
+            int posicao = (int) (atual & MASCARA);
+            for (int nivel = 1; nivel < NIVEIS && posicao == 0; nivel++) {
+                posicao = (int) ((atual >>> (BITS * nivel)) & MASCARA);
+                redistribuir(posicoes[nivel][posicao]);
+                posicoes[nivel][posicao] = null;
+            }
+            if ((atual & (alcance(NIVEIS) - 1)) == 0) {
+                Entrada pendentes = alemDoAlcance;
+                alemDoAlcance = null;
+                redistribuir(pendentes);
+            }
+            int indice = (int) (atual & MASCARA);
+            coletar(posicoes[0][indice], vencidos);
+            posicoes[0][indice] = null;
+        }
+        // agendados para um tick já processado, inclusive os redistribuídos no próprio tick em que vencem
+        coletar(vencidas, vencidos);
+        vencidas = null;
+        return vencidos;
+    }
+    
+    private void coletar(Entrada lista, List<Vencimento> vencidos) {
+        for (Entrada entrada = lista; entrada != null; entrada = entrada.proxima) {
+            entradas.remove(entrada.id);
+            vencidos.add(new Vencimento(entrada.id, entrada.tick));
+        }
+    }
+    
+    private void redistribuir(Entrada lista) {
+        Entrada entrada = lista;
+        while (entrada != null) {
+            Entrada proxima = entrada.proxima;
+            inserir(entrada);
+            entrada = proxima;
+        }
+    }
+    
+    private void inserir(Entrada entrada) {
+        long distancia = entrada.tick - atual;
+        if (distancia <= 0) {
+            entrada.nivel = -1;
+            vencidas = encadear(entrada, vencidas);
+            return;
+        }
+        for (int nivel = 0; nivel < NIVEIS; nivel++) {
+            if (distancia < alcance(nivel + 1)) {
+                int posicao = (int) ((entrada.tick >>> (BITS * nivel)) & MASCARA);
+                entrada.nivel = nivel;
+                entrada.posicao = posicao;
+                posicoes[nivel][posicao] = encadear(entrada, posicoes[nivel][posicao]);
+                return;
+            }
+        }
+        entrada.nivel = NIVEIS;
+        alemDoAlcance = encadear(entrada, alemDoAlcance);
+    }
+    
+    private Entrada encadear(Entrada entrada, Entrada cabeca) {
+        entrada.anterior = null;
+        entrada.proxima = cabeca;
+        if (cabeca != null) {
+            cabeca.anterior = entrada;
+        }
+        return entrada;
+    }
+    
+    private void remover(Entrada entrada) {
+        if (entrada.anterior != null) {
+            entrada.anterior.proxima = entrada.proxima;
+        } else if (entrada.nivel == -1) {
+            vencidas = entrada.proxima;
+        } else if (entrada.nivel == NIVEIS) {
+            alemDoAlcance = entrada.proxima;
+        } else {
+            posicoes[entrada.nivel][entrada.posicao] = entrada.proxima;
+        }
+        if (entrada.proxima != null) {
+            entrada.proxima.anterior = entrada.anterior;
+        }
+        entrada.anterior = null;
+        entrada.proxima = null;
+    }
+    
+    private static long alcance(int niveis) {
+        return 1L << (BITS * niveis);
+    }
+    
+    record Vencimento(long id, long tick) {
+    }
+    
+    private static final class Entrada {
+        
+        private final long id;
+        private long tick;
+        private int nivel;
+        private int posicao;
+        private Entrada anterior;
+        private Entrada proxima;
+        
+        private Entrada(long id) {
+            this.id = id;
+        }
+    }
+}
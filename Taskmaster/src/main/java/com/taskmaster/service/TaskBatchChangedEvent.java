@@ -0,0 +1,52 @@
+package com.taskmaster.service;
+
+import com.taskmaster.model.Task;
+
+import java.util.List;
+import java.util.Set;
+
+public class TaskBatchChangedEvent {
+    
+    private final TaskChangedEvent.Tipo tipo;
+    private final List<Long> ids;
+    private final List<Task> tasks;
+    private final Set<String> categorias;
+    private final List<String> categoriasAnteriores;
+    
+    public TaskBatchChangedEvent(TaskChangedEvent.Tipo tipo, List<Long> ids, List<Task> tasks, Set<String> categorias) {
+        this(tipo, ids, tasks, categorias, List.of());
+    }
+    
+    /**
+     * @param categoriasAnteriores nas atualizações, a categoria de cada tarefa antes da escrita, na ordem de {@code tasks}
+     */
+    public TaskBatchChangedEvent(TaskChangedEvent.Tipo tipo, List<Long> ids, List<Task> tasks, Set<String> categorias,
+                                 List<String> categoriasAnteriores) {
+        this.tipo = tipo;
+        this.ids = ids;
+        this.tasks = tasks;
+        this.categorias = categorias;
+        this.categoriasAnteriores = categoriasAnteriores;
+    }
+    
+    public TaskChangedEvent.Tipo getTipo() {
+        return tipo;
+    }
+    
+    public List<Long> getIds() {
+        return ids;
+    }
+    
+    public List<Task> getTasks() {
+        return tasks;
+    }
+    
+    public Set<String> getCategorias() {
+        return categorias;
+    }
+    
+    public List<String> getCategoriasAnteriores() {
+        return categoriasAnteriores;
+    }
+}
+
@@ -0,0 +1,219 @@
+package com.taskmaster.service;
+
+import com.taskmaster.dto.BatchResultDTO;
+import com.taskmaster.dto.TaskBatchItemDTO;
+import com.taskmaster.dto.TaskDTO;
+import com.taskmaster.exception.BatchItemError;
+import com.taskmaster.exception.BatchValidationException;
+import com.taskmaster.model.Task;
+import com.taskmaster.repository.CategoriaDicionario;
+import com.taskmaster.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+public class TaskBatchService {
+    
+    private static final int TAMANHO_BLOCO = 500;
+    
+    private final TaskRepository taskRepository;
+    private final TaskService taskService;
+    private final CategoriaDicionario categoriaDicionario;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int tamanhoMaximoLote;
+    
+    public TaskBatchService(TaskRepository taskRepository, TaskService taskService,
+                            CategoriaDicionario categoriaDicionario, EntityManager entityManager, Validator validator, ApplicationEventPublisher eventPublisher,
+                            @Value("${taskmaster.lote.tamanho-maximo:10000}") int tamanhoMaximoLote) {
+        this.taskRepository = taskRepository;
+        this.taskService = taskService;
+        this.categoriaDicionario = categoriaDicionario;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.tamanhoMaximoLote = tamanhoMaximoLote;
+    }
+    
+    @Transactional
+    public BatchResultDTO criarTarefasEmLote(List<TaskDTO> dtos) {
+        validarTamanho(dtos);
+        List<BatchItemError> erros = new ArrayList<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            validarItem(i, null, dtos.get(i), erros);
+        }
+        lancarSeHouverErros(erros);
+        registrarCategorias(dtos.stream().map(TaskDTO::getCategoria));
+        
+        List<Long> ids = new ArrayList<>(dtos.size());
+        List<Task> tasks = new ArrayList<>(dtos.size());
+        Set<String> categorias = new HashSet<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            Task task = taskService.convertToEntity(dtos.get(i));
+            entityManager.persist(task);
+            ids.add(task.getId());
+            tasks.add(task);
+            categorias.add(task.getCategoria());
+            if ((i + 1) % TAMANHO_BLOCO == 0) {
+                descarregarBloco();
+            }
+        }
+        descarregarBloco();
+        
+        eventPublisher.publishEvent(new TaskBatchChangedEvent(TaskChangedEvent.Tipo.CRIADA, ids, tasks, categorias));
+        return new BatchResultDTO(ids);
+    }
+    
+    @Transactional
+    public BatchResultDTO atualizarTarefasEmLote(List<TaskBatchItemDTO> itens) {
+        validarTamanho(itens);
+        List<BatchItemError> erros = new ArrayList<>();
+        Set<Long> vistos = new HashSet<>();
+        for (int i = 0; i < itens.size(); i++) {
+            TaskBatchItemDTO item = itens.get(i);
+            Long id = item != null ? item.getId() : null;
+            validarItem(i, id, item, erros);
+            if (id != null && !vistos.add(id)) {
+                erros.add(new BatchItemError(i, id, "ID repetido no lote"));
+            }
+        }
+        lancarSeHouverErros(erros);
+        registrarCategorias(itens.stream().map(TaskBatchItemDTO::getCategoria));
+        
+        List<Long> ids = new ArrayList<>(itens.size());
+        List<Task> tasks = new ArrayList<>(itens.size());
+        List<String> categoriasAnteriores = new ArrayList<>(itens.size());
+        Set<String> categorias = new HashSet<>();
+        for (int inicio = 0; inicio < itens.size(); inicio += TAMANHO_BLOCO) {
+            List<TaskBatchItemDTO> bloco = itens.subList(inicio, Math.min(inicio + TAMANHO_BLOCO, itens.size()));
+            Map<Long, Task> encontradas = taskRepository.findAllById(bloco.stream().map(TaskBatchItemDTO::getId).toList())
+                    .stream()
+                    .collect(Collectors.toMap(Task::getId, Function.identity()));
+            
+            for (int j = 0; j < bloco.size(); j++) {
+                TaskBatchItemDTO item = bloco.get(j);
+                Task task = encontradas.get(item.getId());
+                if (task == null) {
+                    erros.add(new BatchItemError(inicio + j, item.getId(), "Tarefa não encontrada com ID: " + item.getId()));
+                    continue;
+                }
+                if (item.getVersao() != null && !item.getVersao().equals(task.getVersao())) {
+                    erros.add(new BatchItemError(inicio + j, item.getId(), "Conflito de versão: versão atual é " + task.getVersao()));
+                    continue;
+                }
+                categoriasAnteriores.add(task.getCategoria());
+                categorias.add(task.getCategoria());
+                task.setTitulo(item.getTitulo());
+                task.setDescricao(item.getDescricao());
+                task.setCategoria(item.getCategoria());
+                task.setDataLimite(item.getDataLimite());
+                categorias.add(task.getCategoria());
+                ids.add(task.getId());
+                tasks.add(task);
+            }
+            descarregarBloco();
+        }
+        lancarSeHouverErros(erros);
+        
+        eventPublisher.publishEvent(new TaskBatchChangedEvent(TaskChangedEvent.Tipo.ATUALIZADA, ids, tasks, categorias,
+                categoriasAnteriores));
+        return new BatchResultDTO(ids);
+    }
+    
+    @Transactional
+    public BatchResultDTO excluirTarefasEmLote(List<Long> ids) {
+        validarTamanho(ids);
+        List<BatchItemError> erros = new ArrayList<>();
+        Set<Long> vistos = new HashSet<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            if (id == null) {
+                erros.add(new BatchItemError(i, null, "O ID da tarefa é obrigatório"));
+            } else if (!vistos.add(id)) {
+                erros.add(new BatchItemError(i, id, "ID repetido no lote"));
+            }
+        }
+        lancarSeHouverErros(erros);
+        
+        Set<String> categorias = new HashSet<>();
+        for (int inicio = 0; inicio < ids.size(); inicio += TAMANHO_BLOCO) {
+            List<Long> bloco = ids.subList(inicio, Math.min(inicio + TAMANHO_BLOCO, ids.size()));
+            Set<Long> existentes = new HashSet<>();
+            for (TaskRepository.IdCategoria encontrada : taskRepository.findIdCategoriaByIdIn(bloco)) {
+                existentes.add(encontrada.getId());
+                categorias.add(encontrada.getCategoria());
+            }
+            for (int j = 0; j < bloco.size(); j++) {
+                if (!existentes.contains(bloco.get(j))) {
+                    erros.add(new BatchItemError(inicio + j, bloco.get(j), "Tarefa não encontrada com ID: " + bloco.get(j)));
+                }
+            }
+        }
+        lancarSeHouverErros(erros);
+        
+        for (int inicio = 0; inicio < ids.size(); inicio += TAMANHO_BLOCO) {
+            taskRepository.deleteAllByIdInBatch(ids.subList(inicio, Math.min(inicio + TAMANHO_BLOCO, ids.size())));
+        }
+        
+        eventPublisher.publishEvent(new TaskBatchChangedEvent(TaskChangedEvent.Tipo.EXCLUIDA, ids, List.of(), categorias));
+        return new BatchResultDTO(ids);
+    }
+    
+    private void validarTamanho(List<?> itens) {
+        if (itens == null || itens.isEmpty()) {
+            throw new IllegalArgumentException("O lote deve conter ao menos um item");
+        }
+        if (itens.size() > tamanhoMaximoLote) {
+            throw new IllegalArgumentException("O lote deve conter no máximo " + tamanhoMaximoLote + " itens");
+        }
+    }
+    
+    private void validarItem(int indice, Long id, TaskDTO dto, List<BatchItemError> erros) {
+        if (dto == null) {
+            erros.add(new BatchItemError(indice, id, "Item vazio"));
+            return;
+        }
+        for (ConstraintViolation<TaskDTO> violacao : validator.validate(dto)) {
+            erros.add(new BatchItemError(indice, id, violacao.getMessage()));
+        }
+        try {
+            taskService.validarDataLimite(dto.getDataLimite());
+        } catch (IllegalArgumentException e) {
+            erros.add(new BatchItemError(indice, id, e.getMessage()));
+        }
+    }
+    
+    /**
+     * Registra as categorias do lote de uma vez, antes das gravações, em vez de uma a uma durante o flush.
+     */
+    private void registrarCategorias(Stream<String> categorias) {
+        categorias.distinct().forEach(categoriaDicionario::registrar);
+    }
+    
+    private void lancarSeHouverErros(List<BatchItemError> erros) {
+        if (!erros.isEmpty()) {
+            throw new BatchValidationException(erros);
+        }
+    }
+    
+    private void descarregarBloco() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
+
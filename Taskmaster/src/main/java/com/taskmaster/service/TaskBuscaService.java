@@ -0,0 +1,320 @@
+package com.taskmaster.service;
+
+import com.taskmaster.exception.IndiceEmConstrucaoException;
+import com.taskmaster.model.Task;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.br.BrazilianAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopScoreDocCollector;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Busca textual por título e descrição sobre um índice invertido Lucene embutido.
+ * O índice é reconstruído a partir do banco ao iniciar, em segundo plano, e mantido em dia pelos eventos
+ * de alteração confirmados; cada alteração fica visível na busca logo após o commit.
+ * Fica em memória, a não ser que {@code taskmaster.busca.diretorio} aponte para um diretório local.
+ */
+@Service
+public class TaskBuscaService implements SmartLifecycle {
+    
+    private static final Logger log = LoggerFactory.getLogger(TaskBuscaService.class);
+    
+    static final int JANELA_MAXIMA = 10000;
+    static final int MAXIMO_TERMOS = 16;
+    private static final String CAMPO_ID = "id";
+    private static final String CAMPO_TITULO = "titulo";
+    private static final String CAMPO_DESCRICAO = "descricao";
+    private static final String CAMPO_CATEGORIA = "categoria";
+    private static final Set<String> CAMPOS_RETORNADOS = Set.of(CAMPO_ID);
+    private static final float PESO_TITULO = 2f;
+    
+    private final TaskService taskService;
+    private final Analyzer analyzer = new BrazilianAnalyzer();
+    private final Directory diretorio;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final Object lockPendentes = new Object();
+    private Map<Long, Task> pendentes;
+    private Thread reconstrucao;
+    private volatile boolean pronto;
+    private volatile int documentos;
+    private volatile boolean encerrando;
+    private volatile boolean ativo;
+    
+    public TaskBuscaService(TaskService taskService, MeterRegistry meterRegistry,
+                            @Value("${taskmaster.busca.diretorio:}") String diretorio) {
+        this.taskService = taskService;
+        try {
+            this.diretorio = diretorio.isEmpty() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(diretorio));
+            this.writer = new IndexWriter(this.diretorio, new IndexWriterConfig(analyzer)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE));
+            this.searcherManager = new SearcherManager(writer, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível abrir o índice de busca", e);
+        }
+        // O gauge lê a contagem guardada na última atualização do leitor, e não o writer, que é fechado no stop().
+        meterRegistry.gauge("taskmaster.busca.documentos", this, busca -> busca.documentos);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        aplicar(event.getId(), event.getTask());
+        atualizarLeitor();
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskBatchChanged(TaskBatchChangedEvent event) {
+        List<Long> ids = event.getIds();
+        for (int i = 0; i < ids.size(); i++) {
+            aplicar(ids.get(i), i < event.getTasks().size() ? event.getTasks().get(i) : null);
+        }
+        atualizarLeitor();
+    }
+    
+    /**
+     * Busca tarefas que contenham todos os termos de {@code texto} no título ou na descrição, ordenadas
+     * por relevância (BM25, com peso maior para o título). O total é exato até {@value #JANELA_MAXIMA}
+     * resultados; acima disso é um limite inferior.
+     */
+    public Page<Task> buscar(String texto, String categoria, Pageable pageable) {
+        if (!pronto) {
+            throw new IndiceEmConstrucaoException("O índice de busca está sendo construído. Tente novamente em instantes.");
+        }
+        long fim = pageable.getOffset() + pageable.getPageSize();
+        if (fim > JANELA_MAXIMA) {
+            throw new IllegalArgumentException("A busca retorna no máximo " + JANELA_MAXIMA
+                    + " resultados. Refine os termos em vez de avançar as páginas.");
+        }
+        Query consulta = montarConsulta(texto, categoria);
+        
+        List<Long> ids = new ArrayList<>(pageable.getPageSize());
+        long total;
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(consulta, TopScoreDocCollector.createSharedManager((int) fim, null, JANELA_MAXIMA));
+                StoredFields campos = searcher.storedFields();
+                for (int i = (int) pageable.getOffset(); i < topDocs.scoreDocs.length; i++) {
+                    ScoreDoc scoreDoc = topDocs.scoreDocs[i];
+                    ids.add(Long.valueOf(campos.document(scoreDoc.doc, CAMPOS_RETORNADOS).get(CAMPO_ID)));
+                }
+                total = topDocs.totalHits.value;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new PageImpl<>(ids.isEmpty() ? List.of() : taskService.buscarPorIds(ids), pageable, total);
+    }
+    
+    /**
+     * Recria o índice a partir do banco. Alterações confirmadas durante a leitura são reaplicadas no fim,
+     * para que a versão lida pela reconstrução não sobrescreva uma mais nova.
+     */
+    public synchronized void reconstruir() {
+        long inicio = System.nanoTime();
+        pronto = false;
+        synchronized (lockPendentes) {
+            pendentes = new HashMap<>();
+        }
+        try {
+            writer.deleteAll();
+            long[] indexadas = {0};
+            taskService.exportarTodas(task -> {
+                if (encerrando) {
+                    throw new CancellationException("Aplicação encerrando");
+                }
+                indexar(task.getId(), task);
+                indexadas[0]++;
+            });
+            synchronized (lockPendentes) {
+                pendentes.forEach(this::indexar);
+                pendentes = null;
+            }
+            searcherManager.maybeRefreshBlocking();
+            documentos = writer.getDocStats().numDocs;
+            pronto = true;
+            log.info("Índice de busca reconstruído com {} tarefas em {} ms", indexadas[0],
+                    (System.nanoTime() - inicio) / 1_000_000);
+        } catch (CancellationException e) {
+            log.info("Reconstrução do índice de busca interrompida");
+        } catch (IOException | RuntimeException e) {
+            log.error("Falha ao reconstruir o índice de busca", e);
+        } finally {
+            synchronized (lockPendentes) {
+                pendentes = null;
+            }
+        }
+    }
+    
+    private Query montarConsulta(String texto, String categoria) {
+        Set<String> termos = analisar(texto);
+        if (termos.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um termo de busca");
+        }
+        if (termos.size() > MAXIMO_TERMOS) {
+            throw new IllegalArgumentException("A busca aceita no máximo " + MAXIMO_TERMOS + " termos");
+        }
+        
+        BooleanQuery.Builder consulta = new BooleanQuery.Builder();
+        for (String termo : termos) {
+            consulta.add(new BooleanQuery.Builder()
+                    .add(new BoostQuery(new TermQuery(new Term(CAMPO_TITULO, termo)), PESO_TITULO), BooleanClause.Occur.SHOULD)
+                    .add(new TermQuery(new Term(CAMPO_DESCRICAO, termo)), BooleanClause.Occur.SHOULD)
+                    .build(), BooleanClause.Occur.MUST);
+        }
+        if (categoria != null && !categoria.isEmpty()) {
+            consulta.add(new TermQuery(new Term(CAMPO_CATEGORIA, categoria)), BooleanClause.Occur.FILTER);
+        }
+        return consulta.build();
+    }
+    
+    private Set<String> analisar(String texto) {
+        Set<String> termos = new LinkedHashSet<>();
+        if (texto == null || texto.isBlank()) {
+            return termos;
+        }
+        try (TokenStream tokens = analyzer.tokenStream(CAMPO_TITULO, texto)) {
+            CharTermAttribute termo = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken()) {
+                termos.add(termo.toString());
+            }
+            tokens.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return termos;
+    }
+    
+    private void aplicar(Long id, Task task) {
+        synchronized (lockPendentes) {
+            if (pendentes != null) {
+                pendentes.put(id, task);
+            }
+        }
+        try {
+            indexar(id, task);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao atualizar o índice de busca para a tarefa {}", id, e);
+        }
+    }
+    
+    private void indexar(Long id, Task task) {
+        Term chave = new Term(CAMPO_ID, id.toString());
+        try {
+            if (task == null) {
+                writer.deleteDocuments(chave);
+            } else {
+                writer.updateDocument(chave, documento(id, task));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private Document documento(Long id, Task task) {
+        Document documento = new Document();
+        documento.add(new StringField(CAMPO_ID, id.toString(), Field.Store.YES));
+        if (task.getTitulo() != null) {
+            documento.add(new TextField(CAMPO_TITULO, task.getTitulo(), Field.Store.NO));
+        }
+        if (task.getDescricao() != null) {
+            documento.add(new TextField(CAMPO_DESCRICAO, task.getDescricao(), Field.Store.NO));
+        }
+        if (task.getCategoria() != null) {
+            documento.add(new StringField(CAMPO_CATEGORIA, task.getCategoria(), Field.Store.NO));
+        }
+        return documento;
+    }
+    
+    private void atualizarLeitor() {
+        try {
+            searcherManager.maybeRefresh();
+            documentos = writer.getDocStats().numDocs;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Falha ao atualizar o leitor do índice de busca", e);
+        }
+    }
+    
+    @Override
+    public void start() {
+        ativo = true;
+        reconstrucao = new Thread(this::reconstruir, "busca-reconstrucao");
+        reconstrucao.setDaemon(true);
+        reconstrucao.start();
+    }
+    
+    @Override
+    public void stop() {
+        encerrando = true;
+        ativo = false;
+        try {
+            if (reconstrucao != null) {
+                reconstrucao.join();
+            }
+            searcherManager.close();
+            writer.close();
+            diretorio.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.warn("Falha ao fechar o índice de busca", e);
+        }
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return ativo;
+    }
+    
+    /**
+     * Para depois da ingestão assíncrona, cujas últimas gravações ainda atualizam o índice.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 8192;
+    }
+}
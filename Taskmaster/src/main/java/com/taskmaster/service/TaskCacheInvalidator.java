@@ -0,0 +1,119 @@
+package com.taskmaster.service;
+
+import com.taskmaster.config.CacheConfig;
+import com.taskmaster.model.Task;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Invalida os caches de tarefas depois que uma escrita é confirmada, nesta instância ou, por meio da
+ * {@link InvalidacaoDistribuida}, em outra.
+ * As chaves de página por categoria carregam uma geração: ao invalidar, a geração avança,
+ * de modo que uma leitura iniciada antes da escrita nunca seja servida depois dela.
+ * As versões das listagens usadas nas ETags ficam com {@link VersaoListagens}.
+ */
+@Component
+public class TaskCacheInvalidator {
+    
+    private final Cache tarefas;
+    private final Cache tarefasPorCategoria;
+    // Distingue as instâncias entre si, inclusive as iniciadas no mesmo milissegundo, e os reinícios da mesma
+    private final String instancia = Long.toString(System.currentTimeMillis(), 36)
+            + "-" + Integer.toString(ThreadLocalRandom.current().nextInt(1 << 20), 36);
+    private final AtomicLong geracaoGlobal = new AtomicLong();
+    private final Map<String, AtomicLong> geracoesPorCategoria = new ConcurrentHashMap<>();
+    
+    public TaskCacheInvalidator(CacheManager cacheManager) {
+        this.tarefas = cacheManager.getCache(CacheConfig.TAREFAS);
+        this.tarefasPorCategoria = cacheManager.getCache(CacheConfig.TAREFAS_POR_CATEGORIA);
+    }
+    
+    public String chaveCategoria(String categoria, Pageable pageable) {
+        AtomicLong geracao = geracoesPorCategoria.get(categoria);
+        return prefixoCategoria(categoria) + geracaoGlobal.get() + "|" + (geracao != null ? geracao.get() : 0) + "|" + pageable;
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        aplicar(descrever(event));
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskBatchChanged(TaskBatchChangedEvent event) {
+        aplicar(descrever(event));
+    }
+    
+    /**
+     * O que a alteração torna obsoleto. Sem a categoria anterior, ela é procurada na tarefa em cache;
+     * se não estiver lá, todas as categorias são invalidadas.
+     */
+    public Invalidacao descrever(TaskChangedEvent event) {
+        String categoriaAnterior = event.getCategoriaAnterior();
+        if (categoriaAnterior == null && event.getTipo() != TaskChangedEvent.Tipo.CRIADA) {
+            Task emCache = tarefas.get(event.getId(), Task.class);
+            categoriaAnterior = emCache != null ? emCache.getCategoria() : null;
+        }
+        
+        Set<String> categorias = new HashSet<>();
+        if (event.getCategoria() != null) {
+            categorias.add(event.getCategoria());
+        }
+        if (categoriaAnterior != null) {
+            categorias.add(categoriaAnterior);
+        }
+        boolean todas = categoriaAnterior == null && event.getTipo() != TaskChangedEvent.Tipo.CRIADA;
+        return new Invalidacao(instancia, List.of(event.getId()), categorias, todas);
+    }
+    
+    public Invalidacao descrever(TaskBatchChangedEvent event) {
+        return new Invalidacao(instancia, event.getIds(), event.getCategorias(), false);
+    }
+    
+    /**
+     * Aplica uma invalidação aos caches desta instância, seja ela de uma escrita local ou recebida de outra instância.
+     */
+    public void aplicar(Invalidacao invalidacao) {
+        invalidacao.tarefas().forEach(tarefas::evict);
+        if (invalidacao.todasAsCategorias()) {
+            invalidarTodasAsCategorias();
+        } else {
+            invalidacao.categorias().forEach(this::invalidarCategoria);
+        }
+    }
+    
+    public String getInstancia() {
+        return instancia;
+    }
+    
+    public void invalidarCategoria(String categoria) {
+        geracoesPorCategoria.computeIfAbsent(categoria, c -> new AtomicLong()).incrementAndGet();
+        removerChaves(prefixoCategoria(categoria));
+    }
+    
+    public void invalidarTodasAsCategorias() {
+        geracaoGlobal.incrementAndGet();
+        tarefasPorCategoria.clear();
+    }
+    
+    private String prefixoCategoria(String categoria) {
+        return categoria + "|";
+    }
+    
+    private void removerChaves(String prefixo) {
+        if (tarefasPorCategoria.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativo) {
+            nativo.asMap().keySet().removeIf(chave -> chave.toString().startsWith(prefixo));
+        }
+    }
+}
+
@@ -0,0 +1,292 @@
+package com.taskmaster.service;
+
+import com.taskmaster.dto.TaskEventoDTO;
+import com.taskmaster.model.Task;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Feed de alterações confirmadas, enviado por SSE.
+ * As escritas apenas acrescentam o evento a um buffer circular, publicam a nova sequência e acordam
+ * os assinantes parados à espera, sem nunca esperar por eles. Cada assinante tem uma virtual thread que
+ * lê o buffer a partir da última sequência enviada, sem o lock das escritas: cada posição guarda a sua
+ * sequência, e uma posição já sobrescrita indica que o assinante ficou uma volta inteira para trás.
+ * Depois de alcançar o fim do buffer, quem ficar mais de {@code buffer-assinante} eventos para trás é
+ * desconectado.
+ * O mesmo buffer permite retomar a partir do último evento recebido após uma reconexão.
+ */
+@Component
+public class TaskChangeFeed implements SmartLifecycle {
+    
+    private final String instancia = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicReferenceArray<TaskEventoDTO> historico;
+    private final int bufferAssinante;
+    private final long timeoutMs;
+    private final long intervaloHeartbeatNanos;
+    private final ReentrantLock escrita = new ReentrantLock();
+    private final Set<Assinante> assinantes = ConcurrentHashMap.newKeySet();
+    private final Counter descartados;
+    private volatile long publicada;
+    private volatile boolean ativo;
+    
+    public TaskChangeFeed(MeterRegistry meterRegistry,
+                          @Value("${taskmaster.feed.historico:10000}") int historico,
+                          @Value("${taskmaster.feed.buffer-assinante:256}") int bufferAssinante,
+                          @Value("${taskmaster.feed.timeout:30m}") Duration timeout,
+                          @Value("${taskmaster.feed.heartbeat:15s}") Duration heartbeat) {
+        this.historico = new AtomicReferenceArray<>(historico);
+        this.bufferAssinante = Math.min(bufferAssinante, historico);
+        this.timeoutMs = timeout.toMillis();
+        this.intervaloHeartbeatNanos = heartbeat.toNanos();
+        this.descartados = meterRegistry.counter("taskmaster.feed.descartados");
+        meterRegistry.gaugeCollectionSize("taskmaster.feed.assinantes", Tags.empty(), assinantes);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        publicar(event.getTipo(), List.of(event.getId()),
+                event.getTask() != null ? List.of(event.getTask()) : List.of(),
+                Collections.singletonList(event.getCategoriaAnterior()));
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskBatchChanged(TaskBatchChangedEvent event) {
+        publicar(event.getTipo(), event.getIds(), event.getTasks(), event.getCategoriasAnteriores());
+    }
+    
+    /**
+     * Abre uma assinatura. Se {@code ultimoEvento} (o ID do último evento recebido) ainda estiver no
+     * histórico, os eventos seguintes são reenviados; caso contrário, o cliente recebe um evento
+     * {@code reset} e deve recarregar as tarefas antes de continuar.
+     */
+    public SseEmitter assinar(String categoria, String ultimoEvento) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Assinante assinante = new Assinante(emitter, categoria != null && !categoria.isEmpty() ? categoria : null);
+        
+        long ultima = publicada;
+        Long pedida = sequenciaDoEvento(ultimoEvento);
+        boolean reset = ultimoEvento != null && (pedida == null || pedida > ultima
+                || ultima - pedida > historico.length());
+        long inicio = pedida != null && !reset ? pedida : ultima;
+        
+        if (!ativo) {
+            emitter.complete();
+            return emitter;
+        }
+        assinantes.add(assinante);
+        emitter.onCompletion(assinante::fechar);
+        emitter.onTimeout(assinante::fechar);
+        emitter.onError(erro -> assinante.fechar());
+        Thread thread = Thread.ofVirtual()
+                .name("feed-" + assinante.hashCode())
+                .unstarted(() -> entregar(assinante, inicio, reset));
+        assinante.thread = thread;
+        thread.start();
+        return emitter;
+    }
+    
+    /**
+     * @param categoriasAnteriores a categoria de cada tarefa antes da escrita, na ordem de {@code ids};
+     *                             pode ser mais curta que {@code ids} quando não se aplica
+     */
+    private void publicar(TaskChangedEvent.Tipo tipo, List<Long> ids, List<Task> tasks,
+                          List<String> categoriasAnteriores) {
+        escrita.lock();
+        try {
+            long sequencia = publicada;
+            for (int i = 0; i < ids.size(); i++) {
+                Task task = i < tasks.size() ? tasks.get(i) : null;
+                String categoriaAnterior = i < categoriasAnteriores.size() ? categoriasAnteriores.get(i) : null;
+                sequencia++;
+                historico.set(posicao(sequencia), new TaskEventoDTO(sequencia, tipo.name(), ids.get(i),
+                        task != null ? task.getCategoria() : null, categoriaAnterior, task));
+            }
+            publicada = sequencia;
+        } finally {
+            escrita.unlock();
+        }
+        acordar();
+    }
+    
+    /**
+     * Acorda só os assinantes parados à espera; os que ainda estão enviando veem a nova sequência
+     * quando voltarem a ler o buffer.
+     */
+    private void acordar() {
+        for (Assinante assinante : assinantes) {
+            if (assinante.esperando) {
+                LockSupport.unpark(assinante.thread);
+            }
+        }
+    }
+    
+    /**
+     * Para até que haja eventos além de {@code enviada}, o heartbeat vença ou a assinatura seja fechada.
+     * O assinante anuncia que vai esperar antes de reler a sequência publicada, e quem publica atualiza a
+     * sequência antes de procurar quem está esperando: um dos dois sempre vê o outro.
+     */
+    private long aguardar(Assinante assinante, long enviada) {
+        long prazo = System.nanoTime() + intervaloHeartbeatNanos;
+        assinante.esperando = true;
+        try {
+            long ultima;
+            long espera;
+            while ((ultima = publicada) == enviada && ativo && assinante.aberto
+                    && (espera = prazo - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(this, espera);
+                if (Thread.currentThread().isInterrupted()) {
+                    return publicada;
+                }
+            }
+            return ultima;
+        } finally {
+            assinante.esperando = false;
+        }
+    }
+    
+    private void entregar(Assinante assinante, long inicio, boolean reset) {
+        long enviada = inicio;
+        boolean emDia = false;
+        try {
+            if (reset) {
+                assinante.emitter.send(SseEmitter.event().id(idDoEvento(enviada)).name("reset").data(""));
+            }
+            while (ativo && assinante.aberto) {
+                long ultima = aguardar(assinante, enviada);
+                if (!ativo || !assinante.aberto) {
+                    return;
+                }
+                List<TaskEventoDTO> pendentes = new ArrayList<>();
+                long atraso = ultima - enviada;
+                boolean atrasado = atraso > historico.length() || (emDia && atraso > bufferAssinante);
+                if (!atrasado) {
+                    long ate = Math.min(ultima, enviada + bufferAssinante);
+                    for (long s = enviada + 1; s <= ate && !atrasado; s++) {
+                        TaskEventoDTO evento = historico.get(posicao(s));
+                        // a sequência publicada só avança depois de gravadas as posições até ela, então
+                        // uma posição com outra sequência foi sobrescrita por uma volta seguinte
+                        atrasado = evento == null || evento.getSequencia() != s;
+                        pendentes.add(evento);
+                    }
+                    emDia = ate == ultima;
+                }
+                
+                if (atrasado) {
+                    descartados.increment();
+                    assinante.emitter.send(SseEmitter.event().name("descartado")
+                            .data("Assinante lento demais; reconecte com o último ID recebido"));
+                    assinante.emitter.complete();
+                    return;
+                }
+                if (pendentes.isEmpty()) {
+                    assinante.emitter.send(SseEmitter.event().comment("heartbeat"));
+                    continue;
+                }
+                for (TaskEventoDTO evento : pendentes) {
+                    if (assinante.interessado(evento)) {
+                        assinante.emitter.send(SseEmitter.event()
+                                .id(idDoEvento(evento.getSequencia()))
+                                .name(evento.getTipo().toLowerCase())
+                                .data(evento, MediaType.APPLICATION_JSON));
+                    }
+                    enviada = evento.getSequencia();
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            assinante.emitter.completeWithError(e);
+        } finally {
+            assinante.fechar();
+        }
+    }
+    
+    private int posicao(long sequencia) {
+        return (int) (sequencia % historico.length());
+    }
+    
+    private String idDoEvento(long sequencia) {
+        return instancia + "-" + sequencia;
+    }
+    
+    private Long sequenciaDoEvento(String id) {
+        if (id == null || !id.startsWith(instancia + "-")) {
+            return null;
+        }
+        try {
+            return Long.valueOf(id.substring(instancia.length() + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+    
+    @Override
+    public void start() {
+        ativo = true;
+    }
+    
+    /**
+     * Encerra as assinaturas antes do desligamento gracioso do servidor web, que esperaria por elas.
+     */
+    @Override
+    public void stop() {
+        ativo = false;
+        for (Assinante assinante : assinantes) {
+            LockSupport.unpark(assinante.thread);
+            assinante.emitter.complete();
+        }
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return ativo;
+    }
+    
+    private final class Assinante {
+        
+        private final SseEmitter emitter;
+        private final String categoria;
+        private volatile boolean aberto = true;
+        private volatile boolean esperando;
+        private volatile Thread thread;
+        
+        private Assinante(SseEmitter emitter, String categoria) {
+            this.emitter = emitter;
+            this.categoria = categoria;
+        }
+        
+        private boolean interessado(TaskEventoDTO evento) {
+            return categoria == null
+                    || evento.getCategoria() == null
+                    || categoria.equals(evento.getCategoria())
+                    || categoria.equals(evento.getCategoriaAnterior());
+        }
+        
+        private void fechar() {
+            if (!aberto) {
+                return;
+            }
+            aberto = false;
+            assinantes.remove(this);
+            if (thread != null && thread != Thread.currentThread()) {
+                thread.interrupt();
+            }
+        }
+    }
+}
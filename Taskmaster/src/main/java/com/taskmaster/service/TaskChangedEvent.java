@@ -0,0 +1,55 @@
+package com.taskmaster.service;
+
+import com.taskmaster.model.Task;
+
+public class TaskChangedEvent {
+    
+    public enum Tipo {
+        CRIADA, ATUALIZADA, EXCLUIDA
+    }
+    
+    private final Tipo tipo;
+    private final Long id;
+    private final Task task;
+    private final String categoriaAnterior;
+    
+    public TaskChangedEvent(Tipo tipo, Long id, Task task, String categoriaAnterior) {
+        this.tipo = tipo;
+        this.id = id;
+        this.task = task;
+        this.categoriaAnterior = categoriaAnterior;
+    }
+    
+    public static TaskChangedEvent criada(Task task) {
+        return new TaskChangedEvent(Tipo.CRIADA, task.getId(), task, null);
+    }
+    
+    public static TaskChangedEvent atualizada(Task task, String categoriaAnterior) {
+        return new TaskChangedEvent(Tipo.ATUALIZADA, task.getId(), task, categoriaAnterior);
+    }
+    
+    public static TaskChangedEvent excluida(Long id, String categoria) {
+        return new TaskChangedEvent(Tipo.EXCLUIDA, id, null, categoria);
+    }
+    
+    public Tipo getTipo() {
+        return tipo;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public Task getTask() {
+        return task;
+    }
+    
+    public String getCategoria() {
+        return task != null ? task.getCategoria() : null;
+    }
+    
+    public String getCategoriaAnterior() {
+        return categoriaAnterior;
+    }
+}
+
@@ -0,0 +1,201 @@
+package com.taskmaster.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskmaster.dto.BatchResultDTO;
+import com.taskmaster.dto.IngestaoStatusDTO;
+import com.taskmaster.dto.TaskDTO;
+import com.taskmaster.exception.FilaCheiaException;
+import com.taskmaster.exception.ResourceNotFoundException;
+import com.taskmaster.model.Task;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Ingestão assíncrona de tarefas: os pedidos validados entram em uma fila limitada e são gravados por
+ * escritores em lotes, cada lote em uma única transação. Ao encerrar, a fila é esvaziada antes de o
+ * banco ser fechado: a verificação de {@code aceitando} e a inserção na fila acontecem sob a leitura de
+ * {@code admissao}, e {@link #stop()} só deixa de aceitar tarefas com a escrita, de modo que nenhum pedido
+ * entra na fila depois do último esvaziamento.
+ */
+@Service
+public class TaskIngestaoService implements SmartLifecycle {
+    
+    private static final Logger log = LoggerFactory.getLogger(TaskIngestaoService.class);
+    
+    private final TaskService taskService;
+    private final TaskBatchService taskBatchService;
+    private final BlockingQueue<Pedido> fila;
+    private final Cache<String, IngestaoStatusDTO> status;
+    private final int escritores;
+    private final int tamanhoLote;
+    private final long esperaEnfileirarMs;
+    
+    private final ReadWriteLock admissao = new ReentrantReadWriteLock();
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean aceitando;
+    private volatile boolean ativo;
+    
+    public TaskIngestaoService(TaskService taskService, TaskBatchService taskBatchService, MeterRegistry meterRegistry,
+                               @Value("${taskmaster.ingestao.capacidade:10000}") int capacidade,
+                               @Value("${taskmaster.ingestao.escritores:2}") int escritores,
+                               @Value("${taskmaster.ingestao.tamanho-lote:500}") int tamanhoLote,
+                               @Value("${taskmaster.ingestao.espera-enfileirar:50ms}") Duration esperaEnfileirar,
+                               @Value("${taskmaster.ingestao.retencao-status:10m}") Duration retencaoStatus,
+                               @Value("${taskmaster.ingestao.status-maximo:100000}") long statusMaximo) {
+        this.taskService = taskService;
+        this.taskBatchService = taskBatchService;
+        this.fila = new ArrayBlockingQueue<>(capacidade);
+        this.status = Caffeine.newBuilder()
+                .expireAfterWrite(retencaoStatus)
+                .maximumSize(statusMaximo)
+                .build();
+        this.escritores = escritores;
+        this.tamanhoLote = tamanhoLote;
+        this.esperaEnfileirarMs = esperaEnfileirar.toMillis();
+        meterRegistry.gaugeCollectionSize("taskmaster.ingestao.fila", Tags.empty(), fila);
+    }
+    
+    public IngestaoStatusDTO enfileirar(TaskDTO dto) {
+        taskService.validarDataLimite(dto.getDataLimite());
+        Pedido pedido = new Pedido(UUID.randomUUID().toString(), dto);
+        IngestaoStatusDTO pendente = IngestaoStatusDTO.pendente(pedido.id());
+        
+        admissao.readLock().lock();
+        try {
+            if (!aceitando) {
+                throw new FilaCheiaException("A ingestão assíncrona não está aceitando tarefas no momento");
+            }
+            status.put(pedido.id(), pendente);
+            if (fila.offer(pedido, esperaEnfileirarMs, TimeUnit.MILLISECONDS)) {
+                return pendente;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            admissao.readLock().unlock();
+        }
+        status.invalidate(pedido.id());
+        throw new FilaCheiaException("A fila de ingestão está cheia. Tente novamente em instantes.");
+    }
+    
+    public IngestaoStatusDTO consultar(String id) {
+        IngestaoStatusDTO atual = status.getIfPresent(id);
+        if (atual == null) {
+            throw new ResourceNotFoundException("Ingestão não encontrada com ID: " + id);
+        }
+        return atual;
+    }
+    
+    @Override
+    public void start() {
+        ativo = true;
+        aceitando = true;
+        for (int i = 0; i < escritores; i++) {
+            Thread thread = new Thread(this::escrever, "ingestao-" + i);
+            threads.add(thread);
+            thread.start();
+        }
+    }
+    
+    @Override
+    public void stop() {
+        admissao.writeLock().lock();
+        try {
+            aceitando = false;
+        } finally {
+            admissao.writeLock().unlock();
+        }
+        ativo = false;
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        threads.clear();
+        
+        List<Pedido> restantes = new ArrayList<>();
+        while (fila.drainTo(restantes, tamanhoLote) > 0) {
+            gravar(restantes);
+            restantes.clear();
+        }
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return ativo;
+    }
+    
+    /**
+     * Para depois do servidor web, que deixa de receber requisições antes de a fila ser esvaziada.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+    
+    private void escrever() {
+        List<Pedido> lote = new ArrayList<>(tamanhoLote);
+        while (ativo || !fila.isEmpty()) {
+            try {
+                Pedido primeiro = fila.poll(100, TimeUnit.MILLISECONDS);
+                if (primeiro == null) {
+                    continue;
+                }
+                lote.add(primeiro);
+                fila.drainTo(lote, tamanhoLote - 1);
+                gravar(lote);
+            } catch (InterruptedException e) {
+                if (!ativo) {
+                    Thread.currentThread().interrupt();
+                }
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+    
+    void gravar(List<Pedido> lote) {
+        try {
+            BatchResultDTO resultado = taskBatchService.criarTarefasEmLote(lote.stream().map(Pedido::dto).toList());
+            for (int i = 0; i < lote.size(); i++) {
+                status.put(lote.get(i).id(), IngestaoStatusDTO.gravada(lote.get(i).id(), resultado.getIds().get(i)));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Falha ao gravar lote de {} tarefas; gravando uma a uma", lote.size(), e);
+            for (Pedido pedido : lote) {
+                gravarIndividualmente(pedido);
+            }
+        }
+    }
+    
+    private void gravarIndividualmente(Pedido pedido) {
+        try {
+            Task task = taskService.criarTarefa(pedido.dto());
+            status.put(pedido.id(), IngestaoStatusDTO.gravada(pedido.id(), task.getId()));
+        } catch (RuntimeException e) {
+            status.put(pedido.id(), IngestaoStatusDTO.falhou(pedido.id(), e.getMessage()));
+        }
+    }
+    
+    record Pedido(String id, TaskDTO dto) {
+    }
+}
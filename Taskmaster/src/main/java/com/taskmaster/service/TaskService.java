@@ -1,76 +1,367 @@
 package com.taskmaster.service;
 
+import com.taskmaster.config.CacheConfig;
+import com.taskmaster.dto.ContagemPrazo;
+import com.taskmaster.dto.CursorPage;
 import com.taskmaster.dto.TaskDTO;
+import com.taskmaster.dto.TaskEstatisticasDTO;
+import com.taskmaster.dto.TaskResumo;
 import com.taskmaster.exception.ResourceNotFoundException;
+import com.taskmaster.exception.VersionConflictException;
 import com.taskmaster.model.Task;
+import com.taskmaster.repository.CategoriaDicionario;
 import com.taskmaster.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class TaskService {
     
+    public static final Set<String> CAMPOS_ORDENAVEIS = Set.of("dataLimite", "titulo", "id");
+    private static final LocalDate PRIMEIRA_DATA = LocalDate.of(1, 1, 1);
+    private static final LocalDate ULTIMA_DATA = LocalDate.of(9999, 12, 31);
+    private static final int MAXIMO_DIAS = 3650;
+    private static final int DIAS_DA_SEMANA = 7;
+    public static final int JANELA_MAXIMA = 100_000;
+    
     private final TaskRepository taskRepository;
+    private final CategoriaDicionario categoriaDicionario;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
     
-    public TaskService(TaskRepository taskRepository) {
+    public TaskService(TaskRepository taskRepository, CategoriaDicionario categoriaDicionario,
+                       EntityManager entityManager, ApplicationEventPublisher eventPublisher) {
         this.taskRepository = taskRepository;
+        this.categoriaDicionario = categoriaDicionario;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
     }
     
     public Task criarTarefa(TaskDTO dto) {
         validarDataLimite(dto.getDataLimite());
+        // fora de uma transação: a categoria nova é confirmada antes da gravação da tarefa
+        categoriaDicionario.registrar(dto.getCategoria());
         
-        Task task = convertToEntity(dto);
-        return taskRepository.save(task);
+        Task task = taskRepository.save(convertToEntity(dto));
+        eventPublisher.publishEvent(TaskChangedEvent.criada(task));
+        return task;
     }
     
+    @Transactional
     public Task atualizarTarefa(Long id, TaskDTO dto) {
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Tarefa não encontrada com ID: " + id));
-        
         validarDataLimite(dto.getDataLimite());
         
+        if (dto.getVersao() != null) {
+            return atualizarPorVersao(id, dto);
+        }
+        
+        Task task = taskRepository.findById(id)
+                .orElseThrow(() -> ResourceNotFoundException.tarefa(id));
+        
+        String categoriaAnterior = task.getCategoria();
+        categoriaDicionario.registrar(dto.getCategoria());
         task.setTitulo(dto.getTitulo());
         task.setDescricao(dto.getDescricao());
         task.setCategoria(dto.getCategoria());
         task.setDataLimite(dto.getDataLimite());
         
-        return taskRepository.save(task);
+        Task atualizada = taskRepository.save(task);
+        eventPublisher.publishEvent(TaskChangedEvent.atualizada(atualizada, categoriaAnterior));
+        return atualizada;
     }
     
+    @Transactional
     public void excluirTarefa(Long id) {
-        if (!taskRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Tarefa não encontrada com ID: " + id);
+        Integer categoriaId = taskRepository.deleteTaskById(id)
+                .orElseThrow(() -> ResourceNotFoundException.tarefa(id));
+        eventPublisher.publishEvent(TaskChangedEvent.excluida(id, categoriaDicionario.nomeDe(categoriaId)));
+    }
+    
+    private Task atualizarPorVersao(Long id, TaskDTO dto) {
+        int categoriaId = categoriaDicionario.registrar(dto.getCategoria());
+        Optional<Integer> categoriaAnterior = taskRepository.updateTaskIfVersionMatches(id, dto.getVersao(),
+                dto.getTitulo(), dto.getDescricao(), categoriaId, dto.getDataLimite());
+        if (categoriaAnterior.isEmpty()) {
+            if (taskRepository.existsById(id)) {
+                throw new VersionConflictException("A tarefa " + id + " foi alterada por outra requisição. "
+                        + "Versão informada: " + dto.getVersao());
+            }
+            throw ResourceNotFoundException.tarefa(id);
+        }
+        
+        Task task = convertToEntity(dto);
+        task.setId(id);
+        task.setVersao(dto.getVersao() + 1);
+        eventPublisher.publishEvent(TaskChangedEvent.atualizada(task, categoriaDicionario.nomeDe(categoriaAnterior.get())));
+        return task;
+    }
+    
+    @Transactional(readOnly = true)
+    public Page<Task> listarTarefas(Pageable pageable) {
+        return taskRepository.findAll(validarOrdenacao(pageable));
+    }
+    
+    @Transactional(readOnly = true)
+    public Page<TaskResumo> listarResumos(Pageable pageable) {
+        return taskRepository.findResumosBy(validarOrdenacao(pageable));
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<Task> listarTarefasPorCursor(String cursor, int size, String categoria) {
+        boolean filtrarCategoria = categoria != null && !categoria.isEmpty();
+        return paginarPorCursor(cursor, size,
+                limit -> filtrarCategoria
+                        ? taskRepository.findKeysetFirstPageByCategoria(categoria, limit)
+                        : taskRepository.findKeysetFirstPage(limit),
+                (posicao, limit) -> filtrarCategoria
+                        ? taskRepository.findKeysetPageAfterByCategoria(categoria, posicao.dataLimite(), posicao.id(), limit)
+                        : taskRepository.findKeysetPageAfter(posicao.dataLimite(), posicao.id(), limit),
+                task -> codificarCursor(task.getDataLimite(), task.getId()));
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<TaskResumo> listarResumosPorCursor(String cursor, int size, String categoria) {
+        boolean filtrarCategoria = categoria != null && !categoria.isEmpty();
+        return paginarPorCursor(cursor, size,
+                limit -> filtrarCategoria
+                        ? taskRepository.findResumoKeysetFirstPageByCategoria(categoria, limit)
+                        : taskRepository.findResumoKeysetFirstPage(limit),
+                (posicao, limit) -> filtrarCategoria
+                        ? taskRepository.findResumoKeysetPageAfterByCategoria(categoria, posicao.dataLimite(), posicao.id(), limit)
+                        : taskRepository.findResumoKeysetPageAfter(posicao.dataLimite(), posicao.id(), limit),
+                resumo -> codificarCursor(resumo.dataLimite(), resumo.id()));
+    }
+    
+    @Cacheable(cacheNames = CacheConfig.TAREFAS_POR_CATEGORIA, sync = true,
+            key = "@taskCacheInvalidator.chaveCategoria(#categoria, #pageable)")
+    @Transactional(readOnly = true)
+    public Page<Task> filtrarPorCategoria(String categoria, Pageable pageable) {
+        return taskRepository.findByCategoria(categoria, validarOrdenacao(pageable));
+    }
+    
+    @Cacheable(cacheNames = CacheConfig.TAREFAS_POR_CATEGORIA, sync = true,
+            key = "@taskCacheInvalidator.chaveCategoria(#categoria, #pageable) + '|resumo'")
+    @Transactional(readOnly = true)
+    public Page<TaskResumo> filtrarResumosPorCategoria(String categoria, Pageable pageable) {
+        return taskRepository.findResumosByCategoria(categoria, validarOrdenacao(pageable));
+    }
+    
+    @Transactional(readOnly = true)
+    public Page<Task> filtrarPorPrazo(LocalDate de, LocalDate ate, String categoria, Pageable pageable) {
+        LocalDate inicio = de != null ? de : PRIMEIRA_DATA;
+        LocalDate fim = ate != null ? ate : ULTIMA_DATA;
+        validarIntervalo(inicio, fim);
+        return categoria != null && !categoria.isEmpty()
+                ? taskRepository.findByCategoriaAndDataLimiteBetween(categoria, inicio, fim, validarOrdenacao(pageable))
+                : taskRepository.findByDataLimiteBetween(inicio, fim, validarOrdenacao(pageable));
+    }
+    
+    @Transactional(readOnly = true)
+    public Page<TaskResumo> filtrarResumosPorPrazo(LocalDate de, LocalDate ate, String categoria, Pageable pageable) {
+        LocalDate inicio = de != null ? de : PRIMEIRA_DATA;
+        LocalDate fim = ate != null ? ate : ULTIMA_DATA;
+        validarIntervalo(inicio, fim);
+        return categoria != null && !categoria.isEmpty()
+                ? taskRepository.findResumosByCategoriaAndDataLimiteBetween(categoria, inicio, fim, validarOrdenacao(pageable))
+                : taskRepository.findResumosByDataLimiteBetween(inicio, fim, validarOrdenacao(pageable));
+    }
+    
+    @Transactional(readOnly = true)
+    public Page<Task> listarVencendo(int dias, String categoria, Pageable pageable) {
+        if (dias < 0 || dias > MAXIMO_DIAS) {
+            throw new IllegalArgumentException("O número de dias deve estar entre 0 e " + MAXIMO_DIAS);
         }
-        taskRepository.deleteById(id);
+        LocalDate hoje = LocalDate.now();
+        return filtrarPorPrazo(hoje, hoje.plusDays(dias), categoria, pageable);
     }
     
-    public Page<Task> listarTarefas(int page, int size, String sort) {
-        String[] sortParams = sort.split(",");
-        String sortField = sortParams[0];
-        Sort.Direction direction = sortParams.length > 1 && sortParams[1].equalsIgnoreCase("desc") 
-                ? Sort.Direction.DESC 
-                : Sort.Direction.ASC;
+    @Transactional(readOnly = true)
+    public Page<Task> listarVencidas(String categoria, Pageable pageable) {
+        return filtrarPorPrazo(null, LocalDate.now().minusDays(1), categoria, pageable);
+    }
+    
+    /**
+     * Conta as tarefas por categoria e faixa de data limite em uma única consulta agrupada.
+     * O resultado fica em cache até a próxima escrita confirmada ou a virada do dia.
+     */
+    @Cacheable(cacheNames = CacheConfig.TAREFAS_POR_CATEGORIA, sync = true,
+            key = "'estatisticas|' + @versaoListagens.versao(null) + '|' + #hoje")
+    @Transactional(readOnly = true)
+    public TaskEstatisticasDTO calcularEstatisticas(LocalDate hoje) {
+        List<ContagemPrazo> categorias = taskRepository.contarPorCategoriaEPrazo(hoje, hoje.plusDays(DIAS_DA_SEMANA)).stream()
+                .sorted(Comparator.comparing(ContagemPrazo::categoria))
+                .toList();
+        ContagemPrazo totais = new ContagemPrazo(null,
+                categorias.stream().mapToLong(ContagemPrazo::total).sum(),
+                categorias.stream().mapToLong(ContagemPrazo::vencidas).sum(),
+                categorias.stream().mapToLong(ContagemPrazo::hoje).sum(),
+                categorias.stream().mapToLong(ContagemPrazo::semana).sum(),
+                categorias.stream().mapToLong(ContagemPrazo::depois).sum());
+        return new TaskEstatisticasDTO(hoje, totais, categorias);
+    }
+    
+    @Transactional(readOnly = true)
+    public void exportarPorCategoria(String categoria, Consumer<Task> consumer) {
+        try (Stream<Task> tasks = taskRepository.streamByCategoria(categoria)) {
+            tasks.forEach(task -> {
+                consumer.accept(task);
+                entityManager.detach(task);
+            });
+        }
+    }
+    
+    /**
+     * Entrega as tarefas de uma página à medida que são lidas do banco, sem montar a lista da página,
+     * e retorna o total de tarefas.
+     */
+    @Transactional(readOnly = true)
+    public long escreverPagina(Pageable pageable, Consumer<Task> consumer) {
+        try (Stream<Task> tasks = taskRepository.streamBy(validarOrdenacao(pageable))) {
+            tasks.forEach(task -> {
+                consumer.accept(task);
+                entityManager.detach(task);
+            });
+        }
+        return taskRepository.count();
+    }
+    
+    @Transactional(readOnly = true)
+    public void exportarTodas(Consumer<Task> consumer) {
+        try (Stream<Task> tasks = taskRepository.streamAll()) {
+            tasks.forEach(task -> {
+                consumer.accept(task);
+                entityManager.detach(task);
+            });
+        }
+    }
+    
+    /**
+     * Carrega as tarefas na ordem dos IDs informados, ignorando as que não existem mais.
+     */
+    @Transactional(readOnly = true)
+    public List<Task> buscarPorIds(List<Long> ids) {
+        Map<Long, Task> porId = taskRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        return ids.stream()
+                .map(porId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+    
+    /**
+     * Busca uma tarefa pelo ID. A ausência também fica em cache, como valor nulo sob a mesma chave,
+     * e é descartada pelo {@link TaskCacheInvalidator} quando uma tarefa com esse ID é criada; assim,
+     * requisições repetidas por IDs excluídos não chegam ao banco.
+     */
+    @Cacheable(cacheNames = CacheConfig.TAREFAS, key = "#id", sync = true)
+    @Transactional(readOnly = true)
+    public Optional<Task> buscarPorId(Long id) {
+        return taskRepository.findById(id);
+    }
+    
+    private void validarIntervalo(LocalDate de, LocalDate ate) {
+        if (de.isAfter(ate)) {
+            throw new IllegalArgumentException("dueFrom deve ser anterior ou igual a dueTo");
+        }
+    }
+    
+    /**
+     * Valida a janela e a ordenação de uma listagem paginada e acrescenta o desempate por id.
+     */
+    public Pageable validarOrdenacao(Pageable pageable) {
+        if (pageable.isPaged() && pageable.getOffset() + pageable.getPageSize() > JANELA_MAXIMA) {
+            throw new IllegalArgumentException("A paginação por offset alcança no máximo " + JANELA_MAXIMA
+                    + " resultados. Use paginacao=cursor para percorrer a listagem inteira.");
+        }
+        Sort sort = pageable.getSort();
+        if (sort.isUnsorted()) {
+            return pageable;
+        }
+        
+        Sort.Order principal = null;
+        for (Sort.Order order : sort) {
+            if (!CAMPOS_ORDENAVEIS.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Campo de ordenação inválido: " + order.getProperty()
+                        + ". Campos permitidos: dataLimite, titulo, id");
+            }
+            if (!order.getProperty().equals("id")) {
+                if (principal != null) {
+                    throw new IllegalArgumentException("Ordenação permitida por apenas um campo além de id");
+                }
+                principal = order;
+            }
+        }
+        
+        if (sort.getOrderFor("id") != null) {
+            return pageable;
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                sort.and(Sort.by(principal.getDirection(), "id")));
+    }
+    
+    private <T> CursorPage<T> paginarPorCursor(String cursor, int size,
+                                               Function<Limit, List<T>> primeiraPagina,
+                                               BiFunction<PosicaoCursor, Limit, List<T>> paginaApos,
+                                               Function<T, String> codificador) {
+        Limit limit = Limit.of(size + 1);
+        List<T> itens = cursor == null || cursor.isEmpty()
+                ? primeiraPagina.apply(limit)
+                : paginaApos.apply(decodificarCursor(cursor), limit);
+        
+        if (itens.size() <= size) {
+            return new CursorPage<>(itens, size, null);
+        }
         
-        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortField));
-        return taskRepository.findAll(pageable);
+        List<T> content = itens.subList(0, size);
+        return new CursorPage<>(content, size, codificador.apply(content.get(size - 1)));
+    }
+    
+    private String codificarCursor(LocalDate dataLimite, Long id) {
+        String posicao = dataLimite + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(posicao.getBytes(StandardCharsets.UTF_8));
     }
     
-    public List<Task> filtrarPorCategoria(String categoria) {
-        return taskRepository.findByCategoria(categoria);
+    private PosicaoCursor decodificarCursor(String cursor) {
+        try {
+            String posicao = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] partes = posicao.split(":");
+            if (partes.length != 2) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            return new PosicaoCursor(LocalDate.parse(partes[0]), Long.valueOf(partes[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
     }
     
-    public Task buscarPorId(Long id) {
-        return taskRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Tarefa não encontrada com ID: " + id));
+    private record PosicaoCursor(LocalDate dataLimite, Long id) {
     }
     
-    private void validarDataLimite(LocalDate dataLimite) {
+    void validarDataLimite(LocalDate dataLimite) {
         if (dataLimite != null && dataLimite.isBefore(LocalDate.now())) {
             throw new IllegalArgumentException("A data limite não pode ser no passado");
         }
@@ -91,6 +382,7 @@ public class TaskService {
         dto.setDescricao(task.getDescricao());
         dto.setCategoria(task.getCategoria());
         dto.setDataLimite(task.getDataLimite());
+        dto.setVersao(task.getVersao());
         return dto;
     }
 }
@@ -0,0 +1,33 @@
+package com.taskmaster.service;
+
+import java.util.function.Consumer;
+
+/**
+ * Leva as invalidações de cache de uma instância da aplicação às demais.
+ */
+public interface TransporteInvalidacao {
+    
+    /**
+     * Publica a invalidação. É chamado antes da confirmação da transação da escrita, quando há uma,
+     * de modo que um transporte que grave no banco confirme a invalidação junto com a escrita;
+     * as demais instâncias não devem recebê-la antes disso.
+     */
+    void publicar(Invalidacao invalidacao);
+    
+    /**
+     * Registra quem recebe as invalidações publicadas, já com a sequência, inclusive as da própria instância.
+     * A mesma invalidação pode ser entregue mais de uma vez, e fora da ordem das sequências.
+     */
+    void assinar(Consumer<Invalidacao> destino);
+    
+    /**
+     * A maior sequência até a qual todas as invalidações já foram entregues aos assinantes, ou abandonadas
+     * por não terem aparecido a tempo. Nunca diminui.
+     */
+    long consolidada();
+    
+    /**
+     * Identifica o espaço das sequências: duas instâncias só compartilham sequências se as épocas forem iguais.
+     */
+    String epoca();
+}
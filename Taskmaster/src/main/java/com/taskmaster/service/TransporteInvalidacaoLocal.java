@@ -0,0 +1,65 @@
+package com.taskmaster.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * Transporte dentro do próprio processo, para uma única instância e para os testes: entrega a invalidação
+ * a todos os assinantes depois da confirmação da transação, ou na hora, fora de uma transação.
+ * As sequências são numeradas na entrega, uma de cada vez, e por isso chegam sempre em ordem; como não
+ * sobrevivem a um reinício, a época muda a cada processo.
+ * Várias {@link InvalidacaoDistribuida} assinando o mesmo transporte simulam instâncias distintas.
+ */
+@Component
+@ConditionalOnProperty(name = "taskmaster.cache.invalidacao.transporte", havingValue = "local", matchIfMissing = true)
+public class TransporteInvalidacaoLocal implements TransporteInvalidacao {
+    
+    private final List<Consumer<Invalidacao>> destinos = new CopyOnWriteArrayList<>();
+    private final String epoca = Long.toString(System.currentTimeMillis(), 36)
+            + "-" + Integer.toString(ThreadLocalRandom.current().nextInt(1 << 20), 36);
+    private volatile long ultimaSequencia;
+    
+    @Override
+    public void publicar(Invalidacao invalidacao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    entregar(invalidacao);
+                }
+            });
+        } else {
+            entregar(invalidacao);
+        }
+    }
+    
+    @Override
+    public void assinar(Consumer<Invalidacao> destino) {
+        destinos.add(destino);
+    }
+    
+    @Override
+    public long consolidada() {
+        return ultimaSequencia;
+    }
+    
+    @Override
+    public String epoca() {
+        return epoca;
+    }
+    
+    private synchronized void entregar(Invalidacao invalidacao) {
+        Invalidacao numerada = invalidacao.comSequencia(ultimaSequencia + 1);
+        for (Consumer<Invalidacao> destino : destinos) {
+            destino.accept(numerada);
+        }
+        ultimaSequencia = numerada.sequencia();
+    }
+}
@@ -0,0 +1,118 @@
+package com.taskmaster.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Versões das listagens usadas nas ETags, derivadas das sequências das invalidações, e não de contadores
+ * do processo: instâncias que receberam as mesmas invalidações calculam a mesma versão, e uma ETag obtida
+ * em uma instância vale nas demais.
+ * A versão de uma listagem é a maior sequência consolidada que a afetou, seguida de um resumo das sequências
+ * já recebidas além da consolidada, que podem chegar fora de ordem. O resumo é uma soma, e por isso não
+ * depende da ordem de chegada. Sequências consolidadas que nunca chegaram — as abandonadas pelo transporte
+ * e as anteriores à partida desta instância — contam como se tivessem afetado todas as categorias: uma
+ * instância recém-iniciada só passa a concordar com as demais sobre uma categoria na próxima escrita nela.
+ */
+@Component
+public class VersaoListagens {
+    
+    private final TransporteInvalidacao transporte;
+    private final NavigableMap<Long, Invalidacao> pendentes = new TreeMap<>();
+    private final Map<String, Long> ultimaPorCategoria = new HashMap<>();
+    private final Map<String, Long> resumoPorCategoria = new HashMap<>();
+    private long consolidada;
+    private long ultimaTodas;
+    private long resumo;
+    private long resumoTodas;
+    
+    public VersaoListagens(TransporteInvalidacao transporte) {
+        this.transporte = transporte;
+        transporte.assinar(this::receber);
+    }
+    
+    /**
+     * Versão das listagens de uma categoria, ou de todas as tarefas se {@code categoria} for nula.
+     */
+    public synchronized String versao(String categoria) {
+        consolidar(transporte.consolidada());
+        long sequencia;
+        long soma;
+        if (categoria == null || categoria.isEmpty()) {
+            sequencia = consolidada;
+            soma = resumo;
+        } else {
+            sequencia = Math.max(ultimaTodas, ultimaPorCategoria.getOrDefault(categoria, 0L));
+            soma = resumoTodas + resumoPorCategoria.getOrDefault(categoria, 0L);
+        }
+        String epoca = transporte.epoca();
+        return (epoca.isEmpty() ? "" : epoca + ".") + Long.toString(sequencia, 36)
+                + (soma != 0 ? "." + Long.toUnsignedString(soma, 36) : "");
+    }
+    
+    synchronized void receber(Invalidacao invalidacao) {
+        if (invalidacao.sequencia() <= consolidada || pendentes.putIfAbsent(invalidacao.sequencia(), invalidacao) != null) {
+            return;
+        }
+        somar(invalidacao, misturar(invalidacao.sequencia()));
+    }
+    
+    private void consolidar(long ate) {
+        if (ate <= consolidada) {
+            return;
+        }
+        NavigableMap<Long, Invalidacao> recebidas = pendentes.headMap(ate, true);
+        // a maior sequência até "ate" que não chegou, se houver
+        long ausente = ate;
+        for (Long sequencia : recebidas.descendingKeySet()) {
+            if (sequencia != ausente) {
+                break;
+            }
+            ausente--;
+        }
+        if (ausente > consolidada) {
+            ultimaTodas = Math.max(ultimaTodas, ausente);
+        }
+        
+        Iterator<Invalidacao> iterador = recebidas.values().iterator();
+        while (iterador.hasNext()) {
+            Invalidacao invalidacao = iterador.next();
+            somar(invalidacao, -misturar(invalidacao.sequencia()));
+            if (invalidacao.todasAsCategorias()) {
+                ultimaTodas = Math.max(ultimaTodas, invalidacao.sequencia());
+            } else {
+                for (String categoria : invalidacao.categorias()) {
+                    ultimaPorCategoria.merge(categoria, invalidacao.sequencia(), Math::max);
+                }
+            }
+            iterador.remove();
+        }
+        consolidada = ate;
+    }
+    
+    private void somar(Invalidacao invalidacao, long valor) {
+        resumo += valor;
+        if (invalidacao.todasAsCategorias()) {
+            resumoTodas += valor;
+        } else {
+            for (String categoria : invalidacao.categorias()) {
+                resumoPorCategoria.merge(categoria, valor, Long::sum);
+            }
+        }
+    }
+    
+    /**
+     * Espalha os bits da sequência (finalizador do SplitMix64), para que somas de conjuntos diferentes
+     * de sequências não coincidam por acaso.
+     */
+    private static long misturar(long sequencia) {
+        long z = sequencia + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,7 @@
+CREATE TABLE tasks (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    titulo VARCHAR(200) NOT NULL,
+    descricao VARCHAR(1000),
+    categoria VARCHAR(50) NOT NULL,
+    data_limite DATE NOT NULL
+);
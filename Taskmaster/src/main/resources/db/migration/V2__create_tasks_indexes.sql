@@ -0,0 +1,3 @@
+CREATE INDEX idx_tasks_categoria_data_limite_id ON tasks (categoria, data_limite, id);
+CREATE INDEX idx_tasks_data_limite_id ON tasks (data_limite, id);
+CREATE INDEX idx_tasks_titulo_id ON tasks (titulo, id);
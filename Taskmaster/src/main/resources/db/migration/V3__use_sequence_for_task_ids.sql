@@ -0,0 +1,3 @@
+ALTER TABLE tasks ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE tasks_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE tasks_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM tasks);
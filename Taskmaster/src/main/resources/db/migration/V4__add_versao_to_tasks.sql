@@ -0,0 +1 @@
+ALTER TABLE tasks ADD COLUMN versao BIGINT DEFAULT 0 NOT NULL;
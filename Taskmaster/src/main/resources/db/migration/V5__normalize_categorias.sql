@@ -0,0 +1,13 @@
+CREATE TABLE categorias (
+    id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome VARCHAR(50) NOT NULL,
+    CONSTRAINT uk_categorias_nome UNIQUE (nome)
+);
+INSERT INTO categorias (nome) SELECT DISTINCT categoria FROM tasks ORDER BY categoria;
+ALTER TABLE tasks ADD COLUMN categoria_id INTEGER;
+UPDATE tasks t SET categoria_id = (SELECT c.id FROM categorias c WHERE c.nome = t.categoria);
+ALTER TABLE tasks ALTER COLUMN categoria_id SET NOT NULL;
+ALTER TABLE tasks ADD CONSTRAINT fk_tasks_categoria FOREIGN KEY (categoria_id) REFERENCES categorias (id);
+DROP INDEX idx_tasks_categoria_data_limite_id;
+CREATE INDEX idx_tasks_categoria_data_limite_id ON tasks (categoria_id, data_limite, id);
+ALTER TABLE tasks DROP COLUMN categoria;
@@ -0,0 +1,9 @@
+CREATE TABLE cache_invalidacoes (
+    sequencia BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    origem VARCHAR(20) NOT NULL,
+    tarefas CLOB,
+    categorias CLOB,
+    todas_categorias BOOLEAN NOT NULL,
+    criada_em TIMESTAMP NOT NULL
+);
+CREATE INDEX idx_cache_invalidacoes_criada_em ON cache_invalidacoes (criada_em);
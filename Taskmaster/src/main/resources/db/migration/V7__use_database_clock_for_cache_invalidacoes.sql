@@ -0,0 +1,2 @@
+ALTER TABLE cache_invalidacoes ALTER COLUMN criada_em SET DATA TYPE TIMESTAMP WITH TIME ZONE;
+ALTER TABLE cache_invalidacoes ALTER COLUMN criada_em SET DEFAULT CURRENT_TIMESTAMP;
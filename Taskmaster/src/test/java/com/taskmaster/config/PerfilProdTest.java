@@ -0,0 +1,68 @@
+package com.taskmaster.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.swagger.v3.oas.models.OpenAPI;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("prod")
+class PerfilProdTest {
+    
+    @TempDir
+    static Path dataDir;
+    
+    @DynamicPropertySource
+    static void dataDir(DynamicPropertyRegistry registry) {
+        registry.add("taskmaster.data-dir", () -> dataDir.toString());
+    }
+    
+    @Autowired
+    private DataSource dataSource;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Autowired
+    private ApplicationContext context;
+    
+    @Test
+    void prod_DeveUsarH2EmArquivoComPoolFixo() {
+        HikariDataSource hikari = (HikariDataSource) dataSource;
+        
+        assertTrue(hikari.getJdbcUrl().startsWith("jdbc:h2:file:" + dataDir));
+        assertTrue(hikari.getJdbcUrl().contains("QUERY_CACHE_SIZE=256"));
+        assertEquals(hikari.getMaximumPoolSize(), hikari.getMinimumIdle());
+        assertFalse(hikari.isAutoCommit());
+    }
+    
+    @Test
+    void prod_DeveAgruparComandosSemFormatarSql() {
+        Map<String, Object> propriedades = entityManagerFactory.getProperties();
+        
+        assertEquals("50", String.valueOf(propriedades.get("hibernate.jdbc.batch_size")));
+        assertEquals("true", String.valueOf(propriedades.get("hibernate.order_inserts")));
+        assertEquals("true", String.valueOf(propriedades.get("hibernate.order_updates")));
+        assertEquals("false", String.valueOf(propriedades.get("hibernate.format_sql")));
+    }
+    
+    @Test
+    void prod_NaoDeveCarregarADocumentacaoOpenApi() {
+        assertEquals(0, context.getBeanNamesForType(OpenAPI.class).length);
+    }
+}
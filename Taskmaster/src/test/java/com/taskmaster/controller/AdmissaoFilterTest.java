@@ -0,0 +1,123 @@
+package com.taskmaster.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissaoFilterTest {
+    
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    
+    @Test
+    void doFilter_AcimaDaTaxaDoCliente_DeveResponder429ComRetryAfter() throws Exception {
+        AdmissaoFilter filter = filtro(1, 2, 4, 4);
+        
+        assertEquals(200, executar(filter, get("/tasks", "10.0.0.1")).getStatus());
+        assertEquals(200, executar(filter, get("/tasks/1", "10.0.0.1")).getStatus());
+        MockHttpServletResponse recusada = executar(filter, get("/tasks", "10.0.0.1"));
+        
+        assertEquals(429, recusada.getStatus());
+        assertEquals("1", recusada.getHeader("Retry-After"));
+        assertTrue(recusada.getContentAsString().contains("TOO_MANY_REQUESTS"));
+        assertEquals(200, executar(filter, get("/tasks", "10.0.0.2")).getStatus());
+        assertEquals(1, registry.get("taskmaster.admissao.rejeitadas")
+                .tags("motivo", "taxa", "classe", "leitura").counter().count());
+    }
+    
+    @Test
+    void doFilter_ComCabecalhoDoCliente_DeveLimitarPorChaveEmVezDeEndereco() throws Exception {
+        AdmissaoFilter filter = filtro(1, 1, 4, 4, "X-API-Key");
+        
+        MockHttpServletRequest primeira = get("/tasks", "10.0.0.1");
+        primeira.addHeader("X-API-Key", "cliente-a");
+        MockHttpServletRequest mesmaChave = get("/tasks", "10.0.0.2");
+        mesmaChave.addHeader("X-API-Key", "cliente-a");
+        MockHttpServletRequest outraChave = get("/tasks", "10.0.0.1");
+        outraChave.addHeader("X-API-Key", "cliente-b");
+        
+        assertEquals(200, executar(filter, primeira).getStatus());
+        assertEquals(429, executar(filter, mesmaChave).getStatus());
+        assertEquals(200, executar(filter, outraChave).getStatus());
+        assertEquals(200, executar(filter, get("/tasks", "10.0.0.1")).getStatus());
+    }
+    
+    @Test
+    void doFilter_SemVagaNaClasse_DeveResponder503SemAfetarAOutraClasse() throws Exception {
+        AdmissaoFilter filter = filtro(1000, 1000, 1, 1);
+        MockHttpServletResponse[] durante = new MockHttpServletResponse[2];
+        
+        MockHttpServletResponse primeira = new MockHttpServletResponse();
+        filter.doFilter(get("/tasks", "10.0.0.1"), primeira, (request, response) -> {
+            assertEquals(1.0, registry.get("taskmaster.admissao.em.andamento").tags("classe", "leitura").gauge().value());
+            durante[0] = executar(filter, get("/tasks/1", "10.0.0.2"));
+            MockHttpServletRequest escrita = new MockHttpServletRequest("POST", "/tasks");
+            escrita.setRemoteAddr("10.0.0.2");
+            durante[1] = executar(filter, escrita);
+        });
+        
+        assertEquals(200, primeira.getStatus());
+        assertEquals(503, durante[0].getStatus());
+        assertEquals("1", durante[0].getHeader("Retry-After"));
+        assertEquals(200, durante[1].getStatus());
+        assertEquals(200, executar(filter, get("/tasks/1", "10.0.0.2")).getStatus());
+        assertEquals(1, registry.get("taskmaster.admissao.rejeitadas")
+                .tags("motivo", "concorrencia", "classe", "leitura").counter().count());
+    }
+    
+    @Test
+    void doFilter_ForaDeTasks_NaoDeveSerLimitado() throws Exception {
+        AdmissaoFilter filter = filtro(1, 1, 1, 1);
+        
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, executar(filter, get("/actuator/prometheus", "10.0.0.1")).getStatus());
+        }
+    }
+    
+    @Test
+    void tokenBucket_DeveRecarregarConformeATaxaSemPassarDaCapacidade() {
+        long inicio = 0;
+        AdmissaoFilter.TokenBucket bucket = new AdmissaoFilter.TokenBucket(2, 10, inicio);
+        
+        assertEquals(0, bucket.consumir(inicio));
+        assertEquals(0, bucket.consumir(inicio));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), bucket.consumir(inicio), 1);
+        
+        long depois = inicio + TimeUnit.SECONDS.toNanos(10);
+        assertEquals(0, bucket.consumir(depois));
+        assertEquals(0, bucket.consumir(depois));
+        assertTrue(bucket.consumir(depois) > 0);
+    }
+    
+    private AdmissaoFilter filtro(double taxa, double rajada, int leituras, int escritas) {
+        return filtro(taxa, rajada, leituras, escritas, "");
+    }
+    
+    private AdmissaoFilter filtro(double taxa, double rajada, int leituras, int escritas, String cabecalhoCliente) {
+        return new AdmissaoFilter(new ObjectMapper(), registry, true, taxa, rajada, 1000, cabecalhoCliente, leituras,
+                escritas, Duration.ZERO);
+    }
+    
+    private MockHttpServletRequest get(String uri, String cliente) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setRemoteAddr(cliente);
+        return request;
+    }
+    
+    private MockHttpServletResponse executar(AdmissaoFilter filter, MockHttpServletRequest request)
+            throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> { };
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,38 @@
+package com.taskmaster.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricasPrometheusTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Test
+    void prometheus_DeveExporHistogramasDeEndpointsRepositorioEListagem() throws Exception {
+        mockMvc.perform(get("/tasks").param("size", "5").param("sort", "titulo,asc"))
+                .andExpect(status().isOk());
+        
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket{")))
+                .andExpect(content().string(containsString("uri=\"/tasks\"")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket{")))
+                .andExpect(content().string(containsString("method=\"findAll\"")))
+                .andExpect(content().string(containsString("taskmaster_listagem_linhas_bucket{")))
+                .andExpect(content().string(containsString("taskmaster_listagem_ordenacao_total{campo=\"titulo\",direcao=\"asc\"")));
+    }
+}
+
@@ -1,40 +1,109 @@
 package com.taskmaster.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.taskmaster.config.SerializacaoConfig;
+import com.taskmaster.dto.BatchResultDTO;
+import com.taskmaster.dto.ContagemPrazo;
+import com.taskmaster.dto.CursorPage;
+import com.taskmaster.dto.IngestaoStatusDTO;
 import com.taskmaster.dto.TaskDTO;
+import com.taskmaster.dto.TaskEstatisticasDTO;
+import com.taskmaster.dto.TaskResumo;
+import com.taskmaster.exception.BatchItemError;
+import com.taskmaster.exception.BatchValidationException;
+import com.taskmaster.exception.FilaCheiaException;
+import com.taskmaster.exception.IndiceEmConstrucaoException;
+import com.taskmaster.exception.VersionConflictException;
 import com.taskmaster.model.Task;
+import com.taskmaster.service.TaskBatchService;
+import com.taskmaster.service.TaskBuscaService;
+import com.taskmaster.service.TaskChangeFeed;
+import com.taskmaster.service.TaskIngestaoService;
 import com.taskmaster.service.TaskService;
+import com.taskmaster.service.VersaoListagens;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.CannotCreateTransactionException;
 
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(TaskController.class)
+@Import({ListagemMetrics.class, PaginaStreaming.class, SerializacaoConfig.class, TaskControllerTest.MetricasConfig.class})
 class TaskControllerTest {
     
+    @TestConfiguration
+    static class MetricasConfig {
+        
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+    
     @Autowired
     private MockMvc mockMvc;
     
     @MockBean
     private TaskService taskService;
     
+    @MockBean
+    private TaskBatchService taskBatchService;
+    
+    @MockBean
+    private TaskBuscaService taskBuscaService;
+    
+    @MockBean
+    private TaskIngestaoService taskIngestaoService;
+    
+    @MockBean
+    private VersaoListagens versaoListagens;
+    
+    @MockBean
+    private TaskChangeFeed taskChangeFeed;
+    
     @Autowired
     private ObjectMapper objectMapper;
     
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
     @Test
     void criar_ComDadosValidos_DeveRetornar201() throws Exception {
         TaskDTO dto = new TaskDTO();
@@ -60,6 +129,39 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.titulo").value("Nova Tarefa"));
     }
     
+    @Test
+    void criarAssincrona_DeveRetornar202ComLocation() throws Exception {
+        TaskDTO dto = new TaskDTO();
+        dto.setTitulo("Nova Tarefa");
+        dto.setCategoria("Teste");
+        dto.setDataLimite(LocalDate.now().plusDays(1));
+        
+        when(taskIngestaoService.enfileirar(any(TaskDTO.class))).thenReturn(IngestaoStatusDTO.pendente("abc"));
+        
+        mockMvc.perform(post("/tasks/ingestao")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/tasks/ingestao/abc"))
+                .andExpect(jsonPath("$.status").value("PENDENTE"));
+    }
+    
+    @Test
+    void criarAssincrona_ComFilaCheia_DeveRetornar503ComRetryAfter() throws Exception {
+        TaskDTO dto = new TaskDTO();
+        dto.setTitulo("Nova Tarefa");
+        dto.setCategoria("Teste");
+        dto.setDataLimite(LocalDate.now().plusDays(1));
+        
+        when(taskIngestaoService.enfileirar(any(TaskDTO.class))).thenThrow(new FilaCheiaException("Fila cheia"));
+        
+        mockMvc.perform(post("/tasks/ingestao")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+    
     @Test
     void criar_ComDadosInvalidos_DeveRetornar400() throws Exception {
         TaskDTO dto = new TaskDTO();
@@ -88,6 +190,91 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.totalElements").value(1));
     }
     
+    @Test
+    void listar_ComAcceptCbor_DeveResponderEmCbor() throws Exception {
+        Task task = new Task("Tarefa", null, "Teste", LocalDate.now().plusDays(1));
+        task.setId(1L);
+        when(taskService.listarTarefas(any())).thenReturn(new PageImpl<>(Arrays.asList(task), PageRequest.of(0, 10), 1));
+        
+        MvcResult resultado = mockMvc.perform(get("/tasks").accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn();
+        
+        JsonNode pagina = new ObjectMapper(new CBORFactory()).readTree(resultado.getResponse().getContentAsByteArray());
+        assertEquals("Tarefa", pagina.get("content").get(0).get("titulo").asText());
+        assertEquals(task.getDataLimite().toString(), pagina.get("content").get(0).get("dataLimite").asText());
+    }
+    
+    @Test
+    void listar_ComPaginaGrande_DeveEscreverPorStreamingComOsCamposDoPage() throws Exception {
+        Task primeira = new Task("Primeira", null, "Teste", LocalDate.now().plusDays(1));
+        primeira.setId(1L);
+        Task segunda = new Task("Segunda", null, "Teste", LocalDate.now().plusDays(2));
+        segunda.setId(2L);
+        when(taskService.validarOrdenacao(any(Pageable.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(taskService.escreverPagina(any(Pageable.class), any())).thenAnswer(invocation -> {
+            Consumer<Task> consumer = invocation.getArgument(1);
+            consumer.accept(primeira);
+            consumer.accept(segunda);
+            return 250L;
+        });
+        
+        mockMvc.perform(get("/tasks").param("size", "100").param("page", "1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[1].titulo").value("Segunda"))
+                .andExpect(jsonPath("$.totalElements").value(250))
+                .andExpect(jsonPath("$.totalPages").value(3))
+                .andExpect(jsonPath("$.number").value(1))
+                .andExpect(jsonPath("$.size").value(100))
+                .andExpect(jsonPath("$.numberOfElements").value(2))
+                .andExpect(jsonPath("$.first").value(false))
+                .andExpect(jsonPath("$.last").value(false))
+                .andExpect(jsonPath("$.pageable.pageNumber").value(1));
+        
+        verify(taskService, never()).listarTarefas(any());
+    }
+    
+    @Test
+    void listar_ComPaginaGrande_DeveRespeitarAsQualidadesDoAccept() throws Exception {
+        when(taskService.validarOrdenacao(any(Pageable.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(taskService.escreverPagina(any(Pageable.class), any())).thenReturn(0L);
+        
+        mockMvc.perform(get("/tasks").param("size", "100")
+                        .header("Accept", "application/json;q=0, application/*;q=0.5, application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"));
+        
+        mockMvc.perform(get("/tasks").param("size", "100")
+                        .header("Accept", "application/cbor;q=0.5, application/json;q=0.9"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+    
+    @Test
+    void listar_ComPaginaGrandeSemFormatoAceitavel_DeveRetornar406() throws Exception {
+        when(taskService.validarOrdenacao(any(Pageable.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        
+        mockMvc.perform(get("/tasks").param("size", "100").header("Accept", "text/html"))
+                .andExpect(status().isNotAcceptable());
+        mockMvc.perform(get("/tasks").param("size", "100").header("Accept", "application/json;q=0"))
+                .andExpect(status().isNotAcceptable());
+        
+        verify(taskService, never()).escreverPagina(any(Pageable.class), any());
+    }
+    
+    @Test
+    void buscarPorId_SemFormatoAceitavel_DeveRetornar406() throws Exception {
+        Task task = new Task("Tarefa", null, "Teste", LocalDate.now().plusDays(1));
+        task.setId(1L);
+        when(taskService.buscarPorId(1L)).thenReturn(Optional.of(task));
+        
+        mockMvc.perform(get("/tasks/1").header("Accept", "text/html"))
+                .andExpect(status().isNotAcceptable());
+    }
+    
     @Test
     void buscarPorId_ComIdExistente_DeveRetornar200() throws Exception {
         Task task = new Task();
@@ -96,17 +283,364 @@ class TaskControllerTest {
         task.setCategoria("Teste");
         task.setDataLimite(LocalDate.now().plusDays(1));
         
-        when(taskService.buscarPorId(1L)).thenReturn(task);
+        when(taskService.buscarPorId(1L)).thenReturn(Optional.of(task));
         
         mockMvc.perform(get("/tasks/1"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(1L));
     }
     
+    @Test
+    void buscarPorId_EmCBOR_DeveUsarUmaETagPropriaDoFormato() throws Exception {
+        Task task = new Task("Tarefa", null, "Teste", LocalDate.now().plusDays(1));
+        task.setId(1L);
+        task.setVersao(3L);
+        when(taskService.buscarPorId(1L)).thenReturn(Optional.of(task));
+        
+        mockMvc.perform(get("/tasks/1").accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1.3.cbor\""))
+                .andExpect(header().stringValues("Vary", hasItem("Accept")));
+        
+        mockMvc.perform(get("/tasks/1").accept("application/cbor").header("If-None-Match", "\"1.3\""))
+                .andExpect(status().isOk());
+    }
+    
+    @Test
+    void buscarPorId_ComIfNoneMatchDaVersaoAtual_DeveRetornar304() throws Exception {
+        Task task = new Task("Tarefa", null, "Teste", LocalDate.now().plusDays(1));
+        task.setId(1L);
+        task.setVersao(3L);
+        when(taskService.buscarPorId(1L)).thenReturn(Optional.of(task));
+        
+        mockMvc.perform(get("/tasks/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1.3\""));
+        
+        mockMvc.perform(get("/tasks/1").header("If-None-Match", "\"1.3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        
+        mockMvc.perform(get("/tasks/1").header("If-None-Match", "\"1.2\""))
+                .andExpect(status().isOk());
+    }
+    
+    @Test
+    void buscarPorId_ComIdInexistente_DeveRetornar404() throws Exception {
+        when(taskService.buscarPorId(99L)).thenReturn(Optional.empty());
+        
+        mockMvc.perform(get("/tasks/99"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.erro").value("NOT_FOUND"))
+                .andExpect(jsonPath("$.mensagem").value("Tarefa não encontrada com ID: 99"));
+    }
+    
+    @Test
+    void buscarPorId_ComPoolDeConexoesEsgotado_DeveRetornar503() throws Exception {
+        when(taskService.buscarPorId(1L)).thenThrow(new CannotCreateTransactionException("Connection is not available"));
+        
+        mockMvc.perform(get("/tasks/1"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.erro").value("SERVICE_UNAVAILABLE"));
+    }
+    
     @Test
     void excluir_ComIdExistente_DeveRetornar204() throws Exception {
         mockMvc.perform(delete("/tasks/1"))
                 .andExpect(status().isNoContent());
     }
+    
+    @Test
+    void atualizar_ComVersaoDesatualizada_DeveRetornar409() throws Exception {
+        TaskDTO dto = new TaskDTO("Tarefa", null, "Teste", LocalDate.now().plusDays(1));
+        dto.setVersao(1L);
+        when(taskService.atualizarTarefa(eq(1L), any(TaskDTO.class)))
+                .thenThrow(new VersionConflictException("A tarefa 1 foi alterada por outra requisição. Versão informada: 1"));
+        
+        mockMvc.perform(put("/tasks/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.erro").value("CONFLICT"));
+    }
+    
+    @Test
+    void atualizar_ComIfMatch_DeveUsarAVersaoDaETag() throws Exception {
+        TaskDTO dto = new TaskDTO("Tarefa", null, "Teste", LocalDate.now().plusDays(1));
+        Task atualizada = new Task("Tarefa", null, "Teste", dto.getDataLimite());
+        atualizada.setId(1L);
+        atualizada.setVersao(4L);
+        when(taskService.atualizarTarefa(eq(1L), argThat(d -> Long.valueOf(3L).equals(d.getVersao()))))
+                .thenReturn(atualizada);
+        
+        mockMvc.perform(put("/tasks/1")
+                        .header("If-Match", "\"1.3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1.4\""));
+    }
+    
+    @Test
+    void atualizar_ComIfMatchDesatualizado_DeveRetornar412() throws Exception {
+        TaskDTO dto = new TaskDTO("Tarefa", null, "Teste", LocalDate.now().plusDays(1));
+        when(taskService.atualizarTarefa(eq(1L), any(TaskDTO.class)))
+                .thenThrow(new VersionConflictException("A tarefa 1 foi alterada por outra requisição. Versão informada: 2"));
+        
+        mockMvc.perform(put("/tasks/1")
+                        .header("If-Match", "\"1.2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.erro").value("PRECONDITION_FAILED"));
+        
+        mockMvc.perform(put("/tasks/1")
+                        .header("If-Match", "\"7.2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isPreconditionFailed());
+    }
+    
+    @Test
+    void listar_ComCategoriaEIfNoneMatchAtual_DeveRetornar304SemConsultar() throws Exception {
+        when(versaoListagens.versao("Teste")).thenReturn("2r.0.2");
+        
+        mockMvc.perform(get("/tasks").param("categoria", "Teste").header("If-None-Match", "\"l.2r.0.2\""))
+                .andExpect(status().isNotModified());
+        
+        verify(taskService, never()).filtrarPorCategoria(any(), any());
+    }
+    
+    @Test
+    void listar_ComIntervaloDeDatas_DeveFiltrarPorPrazoECategoria() throws Exception {
+        Task task = new Task("Tarefa", null, "Teste", LocalDate.of(2030, 1, 3));
+        task.setId(1L);
+        when(taskService.filtrarPorPrazo(eq(LocalDate.of(2030, 1, 1)), eq(LocalDate.of(2030, 1, 7)), eq("Teste"), any()))
+                .thenReturn(new PageImpl<>(Arrays.asList(task), PageRequest.of(0, 10), 1));
+        
+        mockMvc.perform(get("/tasks").param("categoria", "Teste")
+                        .param("dueFrom", "2030-01-01").param("dueTo", "2030-01-07"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].dataLimite").value("2030-01-03"));
+    }
+    
+    @Test
+    void listar_ComIntervaloDeDatasECursor_DeveRetornar400() throws Exception {
+        mockMvc.perform(get("/tasks").param("paginacao", "cursor").param("dueFrom", "2030-01-01"))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    void vencendo_DeveRetornarTarefasDosProximosDias() throws Exception {
+        Task task = new Task("Tarefa", null, "Teste", LocalDate.now().plusDays(2));
+        task.setId(1L);
+        when(taskService.listarVencendo(eq(3), isNull(), any()))
+                .thenReturn(new PageImpl<>(Arrays.asList(task), PageRequest.of(0, 10), 1));
+        
+        mockMvc.perform(get("/tasks/due-soon").param("days", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1));
+    }
+    
+    @Test
+    void buscar_DeveRetornarTarefasEncontradas() throws Exception {
+        Task task = new Task("Relatório mensal", "Fechar o relatório", "Trabalho", LocalDate.now().plusDays(2));
+        task.setId(1L);
+        when(taskBuscaService.buscar(eq("relatório"), eq("Trabalho"), any()))
+                .thenReturn(new PageImpl<>(Arrays.asList(task), PageRequest.of(0, 10), 1));
+        
+        mockMvc.perform(get("/tasks/search").param("q", "relatório").param("categoria", "Trabalho"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].titulo").value("Relatório mensal"))
+                .andExpect(jsonPath("$.totalElements").value(1));
+    }
+    
+    @Test
+    void buscar_DeveDescartarOSortERegistrarOrdenacaoPorRelevancia() throws Exception {
+        when(taskBuscaService.buscar(eq("relatório"), isNull(), any()))
+                .thenReturn(new PageImpl<>(List.of(), PageRequest.of(0, 10), 0));
+        double antes = contagem("taskmaster.listagem.ordenacao", "campo", "relevancia", "direcao", "desc");
+        
+        mockMvc.perform(get("/tasks/search").param("q", "relatório").param("sort", "campoDoCliente,asc"))
+                .andExpect(status().isOk());
+        
+        verify(taskBuscaService).buscar(eq("relatório"), isNull(), eq(PageRequest.of(0, 10)));
+        assertEquals(antes + 1, contagem("taskmaster.listagem.ordenacao", "campo", "relevancia", "direcao", "desc"));
+        assertNull(meterRegistry.find("taskmaster.listagem.ordenacao").tag("campo", "campoDoCliente").counter());
+    }
+    
+    @Test
+    void buscar_ComIndiceEmConstrucao_DeveRetornar503ComRetryAfter() throws Exception {
+        when(taskBuscaService.buscar(eq("relatório"), isNull(), any()))
+                .thenThrow(new IndiceEmConstrucaoException("Índice em construção"));
+        
+        mockMvc.perform(get("/tasks/search").param("q", "relatório"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "5"));
+    }
+    
+    @Test
+    void estatisticas_DeveRetornarContagensPorCategoriaEPrazo() throws Exception {
+        ContagemPrazo trabalho = new ContagemPrazo("Trabalho", 3L, 1L, 0L, 2L, 0L);
+        ContagemPrazo estudo = new ContagemPrazo("Estudo", 1L, 0L, 1L, 0L, 0L);
+        when(versaoListagens.versao(null)).thenReturn("2r");
+        when(taskService.calcularEstatisticas(LocalDate.now())).thenReturn(new TaskEstatisticasDTO(LocalDate.now(),
+                new ContagemPrazo(null, 4L, 1L, 1L, 2L, 0L), Arrays.asList(estudo, trabalho)));
+        
+        mockMvc.perform(get("/tasks/stats"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.totais.total").value(4))
+                .andExpect(jsonPath("$.categorias[1].categoria").value("Trabalho"))
+                .andExpect(jsonPath("$.categorias[1].semana").value(2));
+    }
+    
+    @Test
+    void listar_ComCategoria_DeveRetornarPagina() throws Exception {
+        Task task = new Task();
+        task.setId(1L);
+        task.setTitulo("Tarefa");
+        task.setCategoria("Teste");
+        task.setDataLimite(LocalDate.now().plusDays(1));
+        
+        Page<Task> page = new PageImpl<>(Arrays.asList(task), PageRequest.of(0, 5), 1);
+        
+        when(taskService.filtrarPorCategoria(eq("Teste"), any())).thenReturn(page);
+        
+        mockMvc.perform(get("/tasks").param("categoria", "Teste").param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].categoria").value("Teste"))
+                .andExpect(jsonPath("$.size").value(5));
+    }
+    
+    @Test
+    void listar_ComFieldsResumo_DeveRetornarApenasCamposDoResumo() throws Exception {
+        TaskResumo resumo = new TaskResumo(1L, "Tarefa", "Teste", LocalDate.now().plusDays(1));
+        when(taskService.listarResumos(any())).thenReturn(new PageImpl<>(Arrays.asList(resumo), PageRequest.of(0, 10), 1));
+        
+        mockMvc.perform(get("/tasks").param("fields", "resumo"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].titulo").value("Tarefa"))
+                .andExpect(jsonPath("$.content[0].descricao").doesNotExist());
+    }
+    
+    @Test
+    void listar_DeveRegistrarLinhasTamanhoDePaginaEOrdenacao() throws Exception {
+        TaskResumo resumo = new TaskResumo(1L, "Tarefa", "Teste", LocalDate.now().plusDays(1));
+        when(taskService.listarResumos(any())).thenReturn(new PageImpl<>(Arrays.asList(resumo), PageRequest.of(0, 20), 1));
+        
+        // O registro é compartilhado pelos testes da classe, então as asserções comparam com os valores anteriores.
+        double linhas = soma("taskmaster.listagem.linhas", "modo", "offset", "campos", "resumo");
+        double tamanhos = soma("taskmaster.listagem.tamanho.pagina", "modo", "offset");
+        double ordenacoes = contagem("taskmaster.listagem.ordenacao", "campo", "titulo", "direcao", "desc");
+        
+        mockMvc.perform(get("/tasks").param("fields", "resumo").param("size", "20").param("sort", "titulo,desc"))
+                .andExpect(status().isOk());
+        
+        assertEquals(linhas + 1, soma("taskmaster.listagem.linhas", "modo", "offset", "campos", "resumo"));
+        assertEquals(tamanhos + 20, soma("taskmaster.listagem.tamanho.pagina", "modo", "offset"));
+        assertEquals(ordenacoes + 1, contagem("taskmaster.listagem.ordenacao", "campo", "titulo", "direcao", "desc"));
+    }
+    
+    @Test
+    void listar_ComCampoDeOrdenacaoNaoPermitido_DeveRegistrarComoOutro() throws Exception {
+        when(taskService.listarTarefas(any())).thenReturn(new PageImpl<>(List.of(), PageRequest.of(0, 10), 0));
+        double antes = contagem("taskmaster.listagem.ordenacao", "campo", "outro", "direcao", "asc");
+        
+        mockMvc.perform(get("/tasks").param("sort", "descricao"))
+                .andExpect(status().isOk());
+        
+        assertEquals(antes + 1, contagem("taskmaster.listagem.ordenacao", "campo", "outro", "direcao", "asc"));
+        assertNull(meterRegistry.find("taskmaster.listagem.ordenacao").tag("campo", "descricao").counter());
+    }
+    
+    @Test
+    void listar_ComFieldsInvalido_DeveRetornar400() throws Exception {
+        mockMvc.perform(get("/tasks").param("fields", "descricao"))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportar_DeveEscreverUmaTarefaPorLinha() throws Exception {
+        Task task = new Task();
+        task.setId(1L);
+        task.setTitulo("Tarefa");
+        task.setCategoria("Teste");
+        task.setDataLimite(LocalDate.now().plusDays(1));
+        
+        doAnswer(invocation -> {
+            Consumer<Task> consumer = invocation.getArgument(1);
+            consumer.accept(task);
+            consumer.accept(task);
+            return null;
+        }).when(taskService).exportarPorCategoria(eq("Teste"), any(Consumer.class));
+        
+        MvcResult result = mockMvc.perform(get("/tasks/exportar").param("categoria", "Teste"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        
+        assertEquals(2, body.split("\n").length);
+    }
+    
+    @Test
+    void listar_ComCursor_DeveRetornarProximoCursorSemTotal() throws Exception {
+        Task task = new Task();
+        task.setId(1L);
+        task.setTitulo("Tarefa");
+        task.setCategoria("Teste");
+        task.setDataLimite(LocalDate.now().plusDays(1));
+        
+        when(taskService.listarTarefasPorCursor(isNull(), eq(10), isNull()))
+                .thenReturn(new CursorPage<>(Arrays.asList(task), 10, "abc"));
+        
+        mockMvc.perform(get("/tasks").param("paginacao", "cursor"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1L))
+                .andExpect(jsonPath("$.nextCursor").value("abc"))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+    
+    @Test
+    void criarEmLote_ComDadosValidos_DeveRetornar201() throws Exception {
+        TaskDTO dto = new TaskDTO("Nova Tarefa", null, "Teste", LocalDate.now().plusDays(1));
+        
+        when(taskBatchService.criarTarefasEmLote(anyList())).thenReturn(new BatchResultDTO(Arrays.asList(1L, 2L)));
+        
+        mockMvc.perform(post("/tasks/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Arrays.asList(dto, dto))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.processados").value(2))
+                .andExpect(jsonPath("$.ids[1]").value(2L));
+    }
+    
+    @Test
+    void excluirEmLote_ComIdInexistente_DeveRetornar400ComErrosPorItem() throws Exception {
+        when(taskBatchService.excluirTarefasEmLote(anyList())).thenThrow(new BatchValidationException(
+                Arrays.asList(new BatchItemError(1, 99L, "Tarefa não encontrada com ID: 99"))));
+        
+        mockMvc.perform(delete("/tasks/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[1, 99]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.erro").value("BATCH_VALIDATION_ERROR"))
+                .andExpect(jsonPath("$.itens[0].indice").value(1))
+                .andExpect(jsonPath("$.itens[0].id").value(99L));
+    }
+    
+    private double soma(String nome, String... tags) {
+        DistributionSummary resumo = meterRegistry.find(nome).tags(tags).summary();
+        return resumo != null ? resumo.totalAmount() : 0;
+    }
+    
+    private double contagem(String nome, String... tags) {
+        Counter contador = meterRegistry.find(nome).tags(tags).counter();
+        return contador != null ? contador.count() : 0;
+    }
 }
-
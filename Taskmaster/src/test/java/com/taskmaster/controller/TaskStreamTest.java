@@ -0,0 +1,90 @@
+package com.taskmaster.controller;
+
+import com.taskmaster.dto.TaskDTO;
+import com.taskmaster.model.Task;
+import com.taskmaster.service.TaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.LocalDate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskStreamTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private TaskService taskService;
+    
+    @Test
+    void stream_DeveEnviarApenasEventosDaCategoria() throws Exception {
+        MvcResult stream = abrir(get("/tasks/stream").param("categoria", "Stream A"));
+        
+        Task outra = taskService.criarTarefa(dto("Outra", "Stream B"));
+        Task criada = taskService.criarTarefa(dto("Criada", "Stream A"));
+        taskService.excluirTarefa(criada.getId());
+        
+        String conteudo = aguardar(stream, "event:excluida");
+        assertTrue(conteudo.contains("event:criada"));
+        assertTrue(conteudo.contains("\"id\":" + criada.getId()));
+        assertFalse(conteudo.contains("\"id\":" + outra.getId() + ","));
+    }
+    
+    @Test
+    void stream_ComLastEventId_DeveReenviarEventosPerdidos() throws Exception {
+        MvcResult primeiro = abrir(get("/tasks/stream").param("categoria", "Stream C"));
+        Task antes = taskService.criarTarefa(dto("Antes", "Stream C"));
+        String idAntes = idDoEvento(aguardar(primeiro, "\"id\":" + antes.getId()), antes.getId());
+        Task depois = taskService.criarTarefa(dto("Depois", "Stream C"));
+        
+        MvcResult retomado = abrir(get("/tasks/stream").param("categoria", "Stream C").header("Last-Event-ID", idAntes));
+        
+        String conteudo = aguardar(retomado, "\"id\":" + depois.getId());
+        assertFalse(conteudo.contains("\"id\":" + antes.getId() + ","));
+    }
+    
+    @Test
+    void stream_ComIdForaDoHistorico_DeveEnviarReset() throws Exception {
+        MvcResult stream = abrir(get("/tasks/stream").header("Last-Event-ID", "outra-instancia-42"));
+        
+        aguardar(stream, "event:reset");
+    }
+    
+    private MvcResult abrir(RequestBuilder requisicao) throws Exception {
+        return mockMvc.perform(requisicao).andExpect(request().asyncStarted()).andReturn();
+    }
+    
+    private String aguardar(MvcResult stream, String trecho) throws Exception {
+        long limite = System.currentTimeMillis() + 5000;
+        String conteudo = stream.getResponse().getContentAsString();
+        while (!conteudo.contains(trecho) && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+            conteudo = stream.getResponse().getContentAsString();
+        }
+        assertTrue(conteudo.contains(trecho), "Evento não recebido: " + trecho + "\n" + conteudo);
+        return conteudo;
+    }
+    
+    private String idDoEvento(String conteudo, Long taskId) {
+        Matcher matcher = Pattern.compile("id:(\\S+)\nevent:criada\ndata:\\{[^\n]*\"id\":" + taskId + ",").matcher(conteudo);
+        assertTrue(matcher.find(), conteudo);
+        return matcher.group(1);
+    }
+    
+    private TaskDTO dto(String titulo, String categoria) {
+        return new TaskDTO(titulo, null, categoria, LocalDate.now().plusDays(1));
+    }
+}
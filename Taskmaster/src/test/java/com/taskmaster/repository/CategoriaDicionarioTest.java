@@ -0,0 +1,85 @@
+package com.taskmaster.repository;
+
+import com.taskmaster.model.Task;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(CategoriaDicionario.class)
+class CategoriaDicionarioTest {
+    
+    @Autowired
+    private TaskRepository taskRepository;
+    
+    @Autowired
+    private CategoriaDicionario categoriaDicionario;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    void salvar_DeveGravarOIdDaCategoriaECompartilharONomeEntreAsTarefas() {
+        Task primeira = taskRepository.save(new Task("Primeira", null, new String("Trabalho"), LocalDate.now().plusDays(1)));
+        Task segunda = taskRepository.save(new Task("Segunda", null, new String("Trabalho"), LocalDate.now().plusDays(2)));
+        taskRepository.flush();
+        entityManager.clear();
+        
+        Integer categoriaId = jdbcTemplate.queryForObject("SELECT categoria_id FROM tasks WHERE id = ?", Integer.class,
+                primeira.getId());
+        List<Task> carregadas = taskRepository.findAllById(List.of(primeira.getId(), segunda.getId()));
+        
+        assertEquals(categoriaDicionario.idDe("Trabalho"), categoriaId);
+        assertEquals("Trabalho", carregadas.get(0).getCategoria());
+        assertSame(carregadas.get(0).getCategoria(), carregadas.get(1).getCategoria());
+    }
+    
+    @Test
+    void findByCategoria_ComCategoriaDesconhecida_NaoDeveCriarACategoria() {
+        Page<Task> encontradas = taskRepository.findByCategoria("Inexistente", PageRequest.of(0, 10));
+        
+        assertTrue(encontradas.isEmpty());
+        assertEquals(CategoriaDicionario.CATEGORIA_INEXISTENTE, categoriaDicionario.idDe("Inexistente"));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM categorias WHERE nome = 'Inexistente'", Integer.class));
+    }
+    
+    @Test
+    void idDe_ComCategoriaDesconhecida_DeveGuardarONomeNoCacheNegativo() {
+        assertEquals(CategoriaDicionario.CATEGORIA_INEXISTENTE, categoriaDicionario.idDe("Desconhecida"));
+        jdbcTemplate.update("INSERT INTO categorias (nome) VALUES ('Desconhecida')");
+        
+        assertEquals(CategoriaDicionario.CATEGORIA_INEXISTENTE, categoriaDicionario.idDe("Desconhecida"));
+    }
+    
+    @Test
+    void registrar_DentroDeUmaTransacao_SoDeveEntrarNoDicionarioDepoisDoCommit() {
+        int antes = categoriaDicionario.tamanho();
+        
+        int id = categoriaDicionario.registrar("Lazer");
+        
+        assertEquals(id, categoriaDicionario.idDe("Lazer"));
+        assertEquals("Lazer", categoriaDicionario.nomeDe(id));
+        assertEquals(antes, categoriaDicionario.tamanho());
+    }
+    
+    @Test
+    void registrar_DeveRetornarOMesmoIdParaOMesmoNome() {
+        int id = categoriaDicionario.registrar("Estudo");
+        
+        assertEquals(id, categoriaDicionario.registrar("Estudo"));
+        assertEquals("Estudo", categoriaDicionario.nomeDe(id));
+    }
+}
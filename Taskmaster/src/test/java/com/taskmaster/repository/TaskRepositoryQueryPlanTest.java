@@ -0,0 +1,106 @@
+package com.taskmaster.repository;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@Import(CategoriaDicionario.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TaskRepositoryQueryPlanTest {
+    
+    private static final String LISTAGEM = "SELECT * FROM %s ORDER BY data_limite, id LIMIT 10 OFFSET 20";
+    private static final String CATEGORIA = "SELECT * FROM %s WHERE categoria_id = %d ORDER BY data_limite, id LIMIT 10";
+    private static final String KEYSET = "SELECT * FROM %s WHERE data_limite >= DATE '2030-01-01' "
+            + "AND (data_limite > DATE '2030-01-01' OR id > 5) ORDER BY data_limite, id LIMIT 10";
+    private static final String PRAZO = "SELECT * FROM %s WHERE data_limite BETWEEN DATE '2030-01-01' AND DATE '2030-01-07' "
+            + "ORDER BY data_limite, id LIMIT 10";
+    private static final String CATEGORIA_PRAZO = "SELECT * FROM %s WHERE categoria_id = %d "
+            + "AND data_limite BETWEEN DATE '2030-01-01' AND DATE '2030-01-07' ORDER BY data_limite, id LIMIT 10";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    private int categoriaC1;
+    
+    @BeforeAll
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO categorias (nome) SELECT 'C' || X FROM SYSTEM_RANGE(0, 19)");
+        categoriaC1 = jdbcTemplate.queryForObject("SELECT id FROM categorias WHERE nome = 'C1'", Integer.class);
+        List<Object[]> linhas = IntStream.range(0, 5000)
+                .mapToObj(i -> new Object[]{"Tarefa " + i, "C" + (i % 20), Date.valueOf(LocalDate.now().plusDays(i % 300))})
+                .toList();
+        jdbcTemplate.batchUpdate("INSERT INTO tasks (id, titulo, categoria_id, data_limite) "
+                + "VALUES (NEXT VALUE FOR tasks_seq, ?, (SELECT id FROM categorias WHERE nome = ?), ?)", linhas);
+        jdbcTemplate.execute("CREATE TABLE tasks_sem_indice AS SELECT * FROM tasks");
+        jdbcTemplate.execute("ANALYZE");
+    }
+    
+    @Test
+    void listagem_OrdenadaPorDataLimite_DeveUsarIndiceSemOrdenarEmMemoria() {
+        String plano = explain(LISTAGEM, "tasks");
+        
+        assertTrue(plano.contains("IDX_TASKS_DATA_LIMITE_ID"), plano);
+        assertTrue(plano.contains("index sorted"), plano);
+        assertTrue(explain(LISTAGEM, "tasks_sem_indice").contains("tableScan"));
+    }
+    
+    @Test
+    void filtroPorCategoria_DeveBuscarPeloIndiceComposto() {
+        String plano = explain(CATEGORIA, "tasks");
+        
+        // O H2 cria para a chave estrangeira um índice só com categoria_id, e o planejador pode preferi-lo ao
+        // composto: os dois buscam apenas as linhas da categoria, e nenhum evita a ordenação em memória.
+        assertTrue(plano.contains(": CATEGORIA_ID = " + categoriaC1), plano);
+        assertFalse(plano.contains("tableScan"), plano);
+        assertTrue(explain(CATEGORIA, "tasks_sem_indice").contains("tableScan"));
+    }
+    
+    @Test
+    void paginaPorCursor_DeveIniciarABuscaNaPosicaoDoCursor() {
+        String plano = explain(KEYSET, "tasks");
+        
+        assertTrue(plano.contains("IDX_TASKS_DATA_LIMITE_ID: DATA_LIMITE >= DATE '2030-01-01'"), plano);
+        assertTrue(plano.contains("index sorted"), plano);
+    }
+    
+    @Test
+    void filtroPorPrazo_DeveBuscarApenasOIntervaloNoIndice() {
+        String plano = explain(PRAZO, "tasks");
+        
+        assertTrue(plano.contains("IDX_TASKS_DATA_LIMITE_ID: DATA_LIMITE >= DATE '2030-01-01'"), plano);
+        assertTrue(explain(PRAZO, "tasks_sem_indice").contains("tableScan"));
+    }
+    
+    @Test
+    void filtroPorCategoriaEPrazo_DeveBuscarPeloIndiceComposto() {
+        String plano = explain(CATEGORIA_PRAZO, "tasks");
+        
+        assertTrue(plano.contains("IDX_TASKS_CATEGORIA_DATA_LIMITE_ID: CATEGORIA_ID = " + categoriaC1), plano);
+        assertTrue(plano.contains("DATA_LIMITE >= DATE '2030-01-01'"), plano);
+    }
+    
+    @AfterAll
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE tasks_sem_indice");
+        jdbcTemplate.execute("DELETE FROM tasks");
+    }
+    
+    private String explain(String consulta, String tabela) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + String.format(consulta, tabela, categoriaC1), String.class);
+    }
+}
+
@@ -0,0 +1,94 @@
+package com.taskmaster.repository;
+
+import com.taskmaster.dto.ContagemPrazo;
+import com.taskmaster.dto.TaskResumo;
+import com.taskmaster.model.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(CategoriaDicionario.class)
+class TaskRepositoryResumoTest {
+    
+    @Autowired
+    private TaskRepository taskRepository;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    private Statistics statistics;
+    
+    @BeforeEach
+    void setUp() {
+        taskRepository.saveAllAndFlush(List.of(
+                new Task("Primeira", "x".repeat(1000), "Trabalho", LocalDate.now().plusDays(2)),
+                new Task("Segunda", "x".repeat(1000), "Trabalho", LocalDate.now().plusDays(1)),
+                new Task("Terceira", "x".repeat(1000), "Estudo", LocalDate.now().plusDays(3))));
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+    
+    @Test
+    void findResumosByCategoria_DeveRetornarResumosSemCarregarEntidades() {
+        Page<TaskResumo> pagina = taskRepository.findResumosByCategoria("Trabalho",
+                PageRequest.of(0, 10, Sort.by("dataLimite", "id")));
+        
+        assertEquals(List.of("Segunda", "Primeira"), pagina.map(TaskResumo::titulo).getContent());
+        assertEquals(2, pagina.getTotalElements());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+    
+    @Test
+    void streamBy_DeveAplicarOffsetLimiteEOrdenacaoDaPagina() {
+        try (Stream<Task> tasks = taskRepository.streamBy(PageRequest.of(1, 2, Sort.by("dataLimite", "id")))) {
+            assertEquals(List.of("Terceira"), tasks.map(Task::getTitulo).toList());
+        }
+    }
+    
+    @Test
+    void findResumoKeysetFirstPage_DeveRetornarResumosOrdenadosSemCarregarEntidades() {
+        List<TaskResumo> resumos = taskRepository.findResumoKeysetFirstPage(Limit.of(2));
+        
+        assertEquals(List.of("Segunda", "Primeira"), resumos.stream().map(TaskResumo::titulo).toList());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+    
+    @Test
+    void contarPorCategoriaEPrazo_DeveAgruparEmUmaConsultaSemCarregarEntidades() {
+        LocalDate hoje = LocalDate.now().plusDays(2);
+        
+        List<ContagemPrazo> contagens = taskRepository.contarPorCategoriaEPrazo(hoje, hoje.plusDays(7)).stream()
+                .sorted(Comparator.comparing(ContagemPrazo::categoria))
+                .toList();
+        
+        assertEquals(List.of(
+                new ContagemPrazo("Estudo", 1L, 0L, 0L, 1L, 0L),
+                new ContagemPrazo("Trabalho", 2L, 1L, 1L, 0L, 0L)), contagens);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+}
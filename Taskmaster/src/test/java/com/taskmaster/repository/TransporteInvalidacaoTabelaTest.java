@@ -0,0 +1,125 @@
+package com.taskmaster.repository;
+
+import com.taskmaster.service.Invalidacao;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(CategoriaDicionario.class)
+class TransporteInvalidacaoTabelaTest {
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private CategoriaDicionario categoriaDicionario;
+    
+    private final List<Invalidacao> recebidas = new ArrayList<>();
+    
+    @BeforeEach
+    void setUp() {
+        categoriaDicionario.registrar("Trabalho");
+    }
+    
+    @Test
+    void ler_DeveEntregarAsInvalidacoesGravadasUmaUnicaVez() {
+        TransporteInvalidacaoTabela transporte = transporte(500);
+        
+        transporte.publicar(new Invalidacao("a", List.of(1L, 2L), Set.of("Trabalho"), false));
+        transporte.publicar(new Invalidacao("b", List.of(3L), Set.of(), true));
+        
+        assertEquals(2, transporte.ler());
+        assertEquals(0, transporte.ler());
+        assertEquals(new Invalidacao("a", List.of(1L, 2L), Set.of("Trabalho"), false, recebidas.get(0).sequencia()),
+                recebidas.get(0));
+        assertEquals(new Invalidacao("b", List.of(3L), Set.of(), true, recebidas.get(0).sequencia() + 1), recebidas.get(1));
+    }
+    
+    @Test
+    void ler_DeveRespeitarOTamanhoDoLote() {
+        TransporteInvalidacaoTabela transporte = transporte(2);
+        for (long id = 1; id <= 3; id++) {
+            transporte.publicar(new Invalidacao("a", List.of(id), Set.of(), false));
+        }
+        
+        assertEquals(2, transporte.ler());
+        assertEquals(1, transporte.ler());
+        assertEquals(List.of(1L, 2L, 3L), recebidas.stream().map(invalidacao -> invalidacao.tarefas().get(0)).toList());
+    }
+    
+    @Test
+    void ler_DeveEntregarUmaLacunaQuandoElaAparecer() {
+        TransporteInvalidacaoTabela transporte = transporte(500);
+        transporte.posicionarNoFim();
+        long base = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(sequencia), 0) FROM cache_invalidacoes", Long.class);
+        inserir(base + 1, 1L);
+        inserir(base + 3, 3L);
+        
+        assertEquals(2, transporte.ler());
+        assertEquals(1, transporte.lacunasPendentes());
+        assertEquals(base + 1, transporte.consolidada());
+        
+        inserir(base + 2, 2L);
+        
+        assertEquals(0, transporte.ler());
+        assertEquals(0, transporte.lacunasPendentes());
+        assertEquals(List.of(1L, 3L, 2L), recebidas.stream().map(invalidacao -> invalidacao.tarefas().get(0)).toList());
+        assertEquals(base + 3, transporte.consolidada());
+    }
+    
+    @Test
+    void lerLacunas_DeveAbandonarLacunasMaisAntigasQueARetencao() {
+        TransporteInvalidacaoTabela transporte = transporte(Duration.ZERO, 500);
+        transporte.posicionarNoFim();
+        long base = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(sequencia), 0) FROM cache_invalidacoes", Long.class);
+        inserir(base + 2, 2L);
+        transporte.ler();
+        
+        assertEquals(0, transporte.lerLacunas());
+        assertEquals(0, transporte.lacunasPendentes());
+    }
+    
+    @Test
+    void limpar_DeveApagarPeloRelogioDoBanco() {
+        TransporteInvalidacaoTabela transporte = transporte(500);
+        transporte.publicar(new Invalidacao("a", List.of(1L), Set.of(), false));
+        jdbcTemplate.update("UPDATE cache_invalidacoes SET criada_em = DATEADD(MINUTE, -20, CURRENT_TIMESTAMP)");
+        transporte.publicar(new Invalidacao("a", List.of(2L), Set.of(), false));
+        
+        assertEquals(1, transporte.limpar());
+        transporte.ler();
+        assertEquals(List.of(2L), recebidas.stream().map(invalidacao -> invalidacao.tarefas().get(0)).toList());
+    }
+    
+    private void inserir(long sequencia, long tarefa) {
+        jdbcTemplate.update("INSERT INTO cache_invalidacoes (sequencia, origem, tarefas, categorias, todas_categorias) "
+                + "VALUES (?, 'a', ?, '', FALSE)", sequencia, String.valueOf(tarefa));
+    }
+    
+    private TransporteInvalidacaoTabela transporte(int tamanhoLote) {
+        return transporte(Duration.ofMinutes(10), tamanhoLote);
+    }
+    
+    private TransporteInvalidacaoTabela transporte(Duration retencao, int tamanhoLote) {
+        TransporteInvalidacaoTabela transporte = new TransporteInvalidacaoTabela(jdbcTemplate, transactionManager,
+                categoriaDicionario, new SimpleMeterRegistry(), Duration.ofMillis(200), retencao, tamanhoLote);
+        transporte.assinar(recebidas::add);
+        return transporte;
+    }
+}
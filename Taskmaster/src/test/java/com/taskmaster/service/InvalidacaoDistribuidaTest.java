@@ -0,0 +1,91 @@
+package com.taskmaster.service;
+
+import com.taskmaster.config.CacheConfig;
+import com.taskmaster.model.Task;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvalidacaoDistribuidaTest {
+    
+    private final TransporteInvalidacaoLocal transporte = new TransporteInvalidacaoLocal();
+    private Instancia a;
+    private Instancia b;
+    private Task task;
+    
+    @BeforeEach
+    void setUp() {
+        a = new Instancia(transporte);
+        b = new Instancia(transporte);
+        task = new Task("Tarefa", null, "Trabalho", LocalDate.now().plusDays(1));
+        task.setId(1L);
+    }
+    
+    @Test
+    void atualizacao_DeveInvalidarOsCachesDaOutraInstancia() {
+        Pageable pageable = PageRequest.of(0, 10);
+        String chaveTrabalho = b.invalidator.chaveCategoria("Trabalho", pageable);
+        String chavePessoal = b.invalidator.chaveCategoria("Pessoal", pageable);
+        b.tarefas.put(1L, task);
+        b.tarefasPorCategoria.put(chaveTrabalho, "pagina");
+        b.tarefasPorCategoria.put(chavePessoal, "pagina");
+        
+        TaskChangedEvent event = TaskChangedEvent.atualizada(task, "Trabalho");
+        a.distribuida.onTaskChanged(event);
+        a.invalidator.onTaskChanged(event);
+        
+        assertNull(b.tarefas.get(1L));
+        assertNull(b.tarefasPorCategoria.get(chaveTrabalho));
+        assertNotNull(b.tarefasPorCategoria.get(chavePessoal));
+        assertEquals(1, b.registry.get("taskmaster.cache.invalidacoes.recebidas").counter().count());
+    }
+    
+    @Test
+    void invalidacaoDaPropriaInstancia_DeveSerIgnorada() {
+        a.distribuida.onTaskBatchChanged(new TaskBatchChangedEvent(TaskChangedEvent.Tipo.CRIADA, List.of(1L, 2L),
+                List.of(task), Set.of("Trabalho")));
+        
+        assertEquals(1, a.registry.get("taskmaster.cache.invalidacoes.publicadas").counter().count());
+        assertEquals(0, a.registry.get("taskmaster.cache.invalidacoes.recebidas").counter().count());
+        assertEquals(1, b.registry.get("taskmaster.cache.invalidacoes.recebidas").counter().count());
+    }
+    
+    @Test
+    void exclusaoSemCategoriaConhecida_DeveInvalidarTodasAsCategoriasDaOutraInstancia() {
+        Pageable pageable = PageRequest.of(0, 10);
+        String chavePessoal = b.invalidator.chaveCategoria("Pessoal", pageable);
+        b.tarefasPorCategoria.put(chavePessoal, "pagina");
+        
+        a.distribuida.onTaskChanged(TaskChangedEvent.excluida(1L, null));
+        
+        assertNull(b.tarefasPorCategoria.get(chavePessoal));
+        assertNotEquals(chavePessoal, b.invalidator.chaveCategoria("Pessoal", pageable));
+    }
+    
+    private static final class Instancia {
+        
+        private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        private final Cache tarefas;
+        private final Cache tarefasPorCategoria;
+        private final TaskCacheInvalidator invalidator;
+        private final InvalidacaoDistribuida distribuida;
+        
+        private Instancia(TransporteInvalidacao transporte) {
+            CaffeineCacheManager cacheManager = new CaffeineCacheManager(CacheConfig.TAREFAS, CacheConfig.TAREFAS_POR_CATEGORIA);
+            tarefas = cacheManager.getCache(CacheConfig.TAREFAS);
+            tarefasPorCategoria = cacheManager.getCache(CacheConfig.TAREFAS_POR_CATEGORIA);
+            invalidator = new TaskCacheInvalidator(cacheManager);
+            distribuida = new InvalidacaoDistribuida(invalidator, transporte, registry);
+        }
+    }
+}
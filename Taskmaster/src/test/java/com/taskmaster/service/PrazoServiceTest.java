@@ -0,0 +1,118 @@
+package com.taskmaster.service;
+
+import com.taskmaster.config.CacheConfig;
+import com.taskmaster.dto.PrazoEventoDTO;
+import com.taskmaster.model.Task;
+import com.taskmaster.repository.CategoriaDicionario;
+import com.taskmaster.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(CategoriaDicionario.class)
+class PrazoServiceTest {
+    
+    @Autowired
+    private TaskRepository taskRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    private final List<PrazoEventoDTO> eventos = new ArrayList<>();
+    private final LocalDate hoje = LocalDate.of(2030, 1, 10);
+    private PrazoService prazoService;
+    
+    @BeforeEach
+    void setUp() {
+        TaskCacheInvalidator invalidator = new TaskCacheInvalidator(
+                new CaffeineCacheManager(CacheConfig.TAREFAS, CacheConfig.TAREFAS_POR_CATEGORIA));
+        prazoService = new PrazoService(taskRepository, transactionManager, List.of(eventos::addAll), invalidator,
+                new TransporteInvalidacaoLocal(), new SimpleMeterRegistry(), "", Duration.ofMinutes(1));
+    }
+    
+    @Test
+    void avancarAte_DeveAvisarCadaTarefaNoDiaDoPrazoENoDiaSeguinte() {
+        Task hojeTask = salvar("Hoje", hoje);
+        Task amanha = salvar("Amanhã", hoje.plusDays(1));
+        Task distante = salvar("Distante", hoje.plusDays(100));
+        salvar("Já vencida", hoje.minusDays(1));
+        prazoService.carregar(hoje);
+        
+        assertEquals(1, prazoService.avancarAte(hoje));
+        assertEvento(PrazoEventoDTO.Tipo.VENCE_HOJE, hojeTask, 0);
+        
+        assertEquals(2, prazoService.avancarAte(hoje.plusDays(1)));
+        assertTrue(eventos.contains(new PrazoEventoDTO(PrazoEventoDTO.Tipo.VENCIDA, hoje.plusDays(1), hojeTask)));
+        assertTrue(eventos.contains(new PrazoEventoDTO(PrazoEventoDTO.Tipo.VENCE_HOJE, hoje.plusDays(1), amanha)));
+        
+        assertEquals(1, prazoService.avancarAte(hoje.plusDays(99)));
+        assertEquals(1, prazoService.avancarAte(hoje.plusDays(100)));
+        assertEvento(PrazoEventoDTO.Tipo.VENCE_HOJE, distante, 4);
+        assertEquals(5, eventos.size());
+    }
+    
+    @Test
+    void escritas_DevemReagendarOuCancelarOAviso() {
+        prazoService.carregar(hoje);
+        Task adiada = salvar("Adiada", hoje.plusDays(2));
+        prazoService.onTaskChanged(TaskChangedEvent.criada(adiada));
+        Task excluida = salvar("Excluída", hoje.plusDays(2));
+        prazoService.onTaskChanged(TaskChangedEvent.criada(excluida));
+        
+        adiada.setDataLimite(hoje.plusDays(5));
+        prazoService.onTaskChanged(TaskChangedEvent.atualizada(taskRepository.save(adiada), null));
+        prazoService.onTaskChanged(TaskChangedEvent.excluida(excluida.getId(), excluida.getCategoria()));
+        
+        assertEquals(0, prazoService.avancarAte(hoje.plusDays(4)));
+        assertEquals(1, prazoService.avancarAte(hoje.plusDays(5)));
+        assertEvento(PrazoEventoDTO.Tipo.VENCE_HOJE, adiada, 0);
+    }
+    
+    @Test
+    void atualizacaoNoDiaDoPrazo_NaoDeveRepetirOAvisoDeVenceHoje() {
+        Task task = salvar("Hoje", hoje);
+        prazoService.carregar(hoje);
+        assertEquals(1, prazoService.avancarAte(hoje));
+        
+        task.setTitulo("Hoje, com outro título");
+        prazoService.onTaskChanged(TaskChangedEvent.atualizada(taskRepository.save(task), null));
+        
+        assertEquals(0, prazoService.avancarAte(hoje));
+        assertEquals(1, prazoService.avancarAte(hoje.plusDays(1)));
+        assertEvento(PrazoEventoDTO.Tipo.VENCIDA, task, 1);
+    }
+    
+    @Test
+    void receber_InvalidacaoDeOutraInstancia_DeveAgendarAPartirDoBanco() {
+        prazoService.carregar(hoje);
+        Task task = salvar("De outra instância", hoje.plusDays(3));
+        
+        prazoService.receber(new Invalidacao("outra", List.of(task.getId()), Set.of("Trabalho"), false));
+        
+        assertEquals(1, prazoService.avancarAte(hoje.plusDays(3)));
+        assertEvento(PrazoEventoDTO.Tipo.VENCE_HOJE, task, 0);
+    }
+    
+    private Task salvar(String titulo, LocalDate dataLimite) {
+        return taskRepository.save(new Task(titulo, null, "Trabalho", dataLimite));
+    }
+    
+    private void assertEvento(PrazoEventoDTO.Tipo tipo, Task task, int indice) {
+        assertEquals(tipo, eventos.get(indice).tipo());
+        assertEquals(task.getId(), eventos.get(indice).task().getId());
+    }
+}
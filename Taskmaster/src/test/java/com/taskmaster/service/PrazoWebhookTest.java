@@ -0,0 +1,82 @@
+package com.taskmaster.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sun.net.httpserver.HttpServer;
+import com.taskmaster.dto.PrazoEventoDTO;
+import com.taskmaster.model.Task;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrazoWebhookTest {
+    
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<String> recebidos = new CopyOnWriteArrayList<>();
+    private volatile int status = 204;
+    private HttpServer stub;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stub.createContext("/prazos", exchange -> {
+            recebidos.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        stub.start();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        stub.stop(0);
+    }
+    
+    @Test
+    void notificar_DeveEnviarOsEventosEmLotes() {
+        webhook(2).notificar(List.of(evento(1L), evento(2L), evento(3L)));
+        
+        assertEquals(2, recebidos.size());
+        assertTrue(recebidos.get(0).startsWith("[{\"tipo\":\"VENCE_HOJE\",\"data\":\"2030-01-10\""));
+        assertTrue(recebidos.get(1).contains("\"id\":3"));
+        assertEquals(3, registry.get("taskmaster.prazos.webhook").tag("resultado", "enviado").counter().count());
+    }
+    
+    @Test
+    void notificar_ComRespostaDeErro_DeveContarAFalhaSemLancar() {
+        status = 500;
+        
+        webhook(100).notificar(List.of(evento(1L)));
+        
+        assertEquals(1, recebidos.size());
+        assertEquals(1, registry.get("taskmaster.prazos.webhook").tag("resultado", "falha").counter().count());
+    }
+    
+    private PrazoWebhook webhook(int tamanhoLote) {
+        URI url = URI.create("http://localhost:" + stub.getAddress().getPort() + "/prazos");
+        // Mesma configuração de datas do ObjectMapper da aplicação, que o Spring Boot monta com datas ISO-8601.
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        return new PrazoWebhook(objectMapper, registry, url, Duration.ofSeconds(5), tamanhoLote);
+    }
+    
+    private PrazoEventoDTO evento(Long id) {
+        Task task = new Task("Tarefa " + id, null, "Trabalho", LocalDate.of(2030, 1, 10));
+        task.setId(id);
+        return new PrazoEventoDTO(PrazoEventoDTO.Tipo.VENCE_HOJE, LocalDate.of(2030, 1, 10), task);
+    }
+}
@@ -0,0 +1,51 @@
+package com.taskmaster.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RodaTemporalTest {
+    
+    private static final long INICIO = 20_000;
+    
+    @Test
+    void avancar_DeveVencerCadaItemExatamenteNoSeuTickEmTodosOsNiveis() {
+        RodaTemporal roda = new RodaTemporal(INICIO);
+        long[] distancias = {1, 2, 63, 64, 65, 130, 4095, 4096, 4097, 262_143, 262_144, 300_000, 17_000_000};
+        for (int i = 0; i < distancias.length; i++) {
+            roda.agendar(i, INICIO + distancias[i]);
+        }
+        
+        for (int i = 0; i < distancias.length; i++) {
+            long tick = INICIO + distancias[i];
+            assertTrue(roda.avancar(tick - 1).isEmpty(), "vencido antes do tick " + tick);
+            assertEquals(List.of(new RodaTemporal.Vencimento(i, tick)), roda.avancar(tick));
+        }
+        assertEquals(0, roda.tamanho());
+    }
+    
+    @Test
+    void agendar_MesmoIdDeveMoverOItem_CancelarDeveRetirarDaRoda() {
+        RodaTemporal roda = new RodaTemporal(INICIO);
+        roda.agendar(1, INICIO + 10);
+        roda.agendar(2, INICIO + 10);
+        roda.agendar(1, INICIO + 100);
+        
+        assertTrue(roda.cancelar(2));
+        assertFalse(roda.cancelar(2));
+        assertTrue(roda.avancar(INICIO + 99).isEmpty());
+        assertEquals(List.of(new RodaTemporal.Vencimento(1, INICIO + 100)), roda.avancar(INICIO + 100));
+    }
+    
+    @Test
+    void agendar_ParaTickJaProcessado_DeveVencerNoProximoAvanco() {
+        RodaTemporal roda = new RodaTemporal(INICIO);
+        roda.agendar(1, INICIO);
+        roda.agendar(2, INICIO - 5);
+        
+        assertEquals(2, roda.avancar(INICIO).size());
+        assertEquals(0, roda.tamanho());
+    }
+}
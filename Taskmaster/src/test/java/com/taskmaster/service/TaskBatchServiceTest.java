@@ -0,0 +1,142 @@
+package com.taskmaster.service;
+
+import com.taskmaster.dto.BatchResultDTO;
+import com.taskmaster.dto.TaskBatchItemDTO;
+import com.taskmaster.dto.TaskDTO;
+import com.taskmaster.exception.BatchValidationException;
+import com.taskmaster.model.Task;
+import com.taskmaster.repository.CategoriaDicionario;
+import com.taskmaster.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskBatchServiceTest {
+    
+    @Mock
+    private TaskRepository taskRepository;
+    
+    @Mock
+    private CategoriaDicionario categoriaDicionario;
+    
+    @Mock
+    private EntityManager entityManager;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
+    private TaskBatchService taskBatchService;
+    
+    @BeforeEach
+    void setUp() {
+        TaskService taskService = new TaskService(taskRepository, categoriaDicionario, entityManager, eventPublisher);
+        taskBatchService = new TaskBatchService(taskRepository, taskService, categoriaDicionario, entityManager,
+                Validation.buildDefaultValidatorFactory().getValidator(), eventPublisher, 3);
+    }
+    
+    @Test
+    void criarTarefasEmLote_ComItensValidos_DevePersistirTodosEPublicarUmEvento() {
+        List<TaskDTO> dtos = Arrays.asList(
+                new TaskDTO("Tarefa 1", null, "Trabalho", LocalDate.now().plusDays(1)),
+                new TaskDTO("Tarefa 2", null, "Estudo", LocalDate.now().plusDays(2)));
+        
+        BatchResultDTO resultado = taskBatchService.criarTarefasEmLote(dtos);
+        
+        assertEquals(2, resultado.getProcessados());
+        verify(entityManager, times(2)).persist(any(Task.class));
+        verify(entityManager, atLeastOnce()).flush();
+        verify(eventPublisher, times(1)).publishEvent(any(TaskBatchChangedEvent.class));
+    }
+    
+    @Test
+    void criarTarefasEmLote_ComItensInvalidos_DeveInformarErrosPorItemSemGravar() {
+        List<TaskDTO> dtos = Arrays.asList(
+                new TaskDTO("Tarefa 1", null, "Trabalho", LocalDate.now().plusDays(1)),
+                new TaskDTO("", null, "Trabalho", LocalDate.now().plusDays(1)),
+                new TaskDTO("Tarefa 3", null, "Trabalho", LocalDate.now().minusDays(1)));
+        
+        BatchValidationException ex = assertThrows(BatchValidationException.class, () -> {
+            taskBatchService.criarTarefasEmLote(dtos);
+        });
+        
+        assertEquals(2, ex.getErros().size());
+        assertEquals(1, ex.getErros().get(0).getIndice());
+        assertEquals(2, ex.getErros().get(1).getIndice());
+        verify(entityManager, never()).persist(any(Task.class));
+    }
+    
+    @Test
+    void criarTarefasEmLote_AcimaDoTamanhoMaximo_DeveLancarExcecao() {
+        TaskDTO dto = new TaskDTO("Tarefa", null, "Trabalho", LocalDate.now().plusDays(1));
+        
+        assertThrows(IllegalArgumentException.class, () -> {
+            taskBatchService.criarTarefasEmLote(Arrays.asList(dto, dto, dto, dto));
+        });
+    }
+    
+    @Test
+    void atualizarTarefasEmLote_DevePublicarACategoriaAnteriorDeCadaTarefa() {
+        Task primeira = new Task("Antiga", null, "Trabalho", LocalDate.now().plusDays(1));
+        primeira.setId(1L);
+        Task segunda = new Task("Outra", null, "Pessoal", LocalDate.now().plusDays(1));
+        segunda.setId(2L);
+        when(taskRepository.findAllById(anyList())).thenReturn(Arrays.asList(primeira, segunda));
+        
+        taskBatchService.atualizarTarefasEmLote(Arrays.asList(
+                new TaskBatchItemDTO(1L, "Nova", null, "Estudo", LocalDate.now().plusDays(1)),
+                new TaskBatchItemDTO(2L, "Outra", null, "Estudo", LocalDate.now().plusDays(1))));
+        
+        ArgumentCaptor<TaskBatchChangedEvent> evento = ArgumentCaptor.forClass(TaskBatchChangedEvent.class);
+        verify(eventPublisher).publishEvent(evento.capture());
+        assertEquals(List.of("Trabalho", "Pessoal"), evento.getValue().getCategoriasAnteriores());
+    }
+    
+    @Test
+    void atualizarTarefasEmLote_ComIdInexistente_DeveInformarErroDoItem() {
+        Task existente = new Task("Antiga", null, "Trabalho", LocalDate.now().plusDays(1));
+        existente.setId(1L);
+        when(taskRepository.findAllById(anyList())).thenReturn(Arrays.asList(existente));
+        
+        List<TaskBatchItemDTO> itens = Arrays.asList(
+                new TaskBatchItemDTO(1L, "Nova", null, "Estudo", LocalDate.now().plusDays(1)),
+                new TaskBatchItemDTO(99L, "Outra", null, "Estudo", LocalDate.now().plusDays(1)));
+        
+        BatchValidationException ex = assertThrows(BatchValidationException.class, () -> {
+            taskBatchService.atualizarTarefasEmLote(itens);
+        });
+        
+        assertEquals(1, ex.getErros().size());
+        assertEquals(99L, ex.getErros().get(0).getId());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+    
+    @Test
+    void excluirTarefasEmLote_ComIdsExistentes_DeveExcluirEmUmaInstrucao() {
+        TaskRepository.IdCategoria idCategoria = mock(TaskRepository.IdCategoria.class);
+        when(idCategoria.getId()).thenReturn(1L);
+        when(idCategoria.getCategoria()).thenReturn("Trabalho");
+        when(taskRepository.findIdCategoriaByIdIn(anyList())).thenReturn(Arrays.asList(idCategoria));
+        
+        BatchResultDTO resultado = taskBatchService.excluirTarefasEmLote(Arrays.asList(1L));
+        
+        assertEquals(1, resultado.getProcessados());
+        verify(taskRepository, times(1)).deleteAllByIdInBatch(Arrays.asList(1L));
+    }
+}
+
@@ -0,0 +1,147 @@
+package com.taskmaster.service;
+
+import com.taskmaster.exception.IndiceEmConstrucaoException;
+import com.taskmaster.model.Task;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class TaskBuscaServiceTest {
+    
+    private final Map<Long, Task> banco = new LinkedHashMap<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TaskBuscaService busca;
+    
+    @BeforeEach
+    void setUp() {
+        TaskService taskService = mock(TaskService.class);
+        doAnswer(invocation -> {
+            Consumer<Task> consumer = invocation.getArgument(0);
+            banco.values().forEach(consumer);
+            return null;
+        }).when(taskService).exportarTodas(any());
+        when(taskService.buscarPorIds(anyList())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(banco::get).filter(Objects::nonNull).toList();
+        });
+        busca = new TaskBuscaService(taskService, meterRegistry, "");
+        
+        gravar(task(1L, "Pagar contas", "Boleto do relatório de energia", "Casa"));
+        gravar(task(2L, "Relatório mensal", "Consolidar os números do mês", "Trabalho"));
+        gravar(task(3L, "Reunião de equipe", "Apresentar o relatório", "Trabalho"));
+    }
+    
+    @Test
+    void buscar_DeveOrdenarPorRelevanciaComPesoMaiorParaOTitulo() {
+        busca.reconstruir();
+        
+        Page<Task> resultado = busca.buscar("relatório", null, PageRequest.of(0, 10));
+        
+        assertEquals(3, resultado.getTotalElements());
+        assertEquals(2L, resultado.getContent().get(0).getId());
+    }
+    
+    @Test
+    void buscar_DeveExigirTodosOsTermosEFiltrarPorCategoria() {
+        busca.reconstruir();
+        
+        assertEquals(List.of(3L), ids(busca.buscar("relatório reunião", null, PageRequest.of(0, 10))));
+        assertEquals(Set.of(2L, 3L), Set.copyOf(ids(busca.buscar("relatório", "Trabalho", PageRequest.of(0, 10)))));
+    }
+    
+    @Test
+    void buscar_DevePaginarOsResultados() {
+        busca.reconstruir();
+        
+        Page<Task> primeira = busca.buscar("relatório", null, PageRequest.of(0, 2));
+        Page<Task> segunda = busca.buscar("relatório", null, PageRequest.of(1, 2));
+        
+        assertEquals(2, primeira.getNumberOfElements());
+        assertEquals(1, segunda.getNumberOfElements());
+        assertEquals(3, segunda.getTotalElements());
+        assertFalse(ids(primeira).contains(segunda.getContent().get(0).getId()));
+    }
+    
+    @Test
+    void onTaskChanged_DeveAtualizarOIndiceAposCadaAlteracao() {
+        busca.reconstruir();
+        
+        Task nova = task(4L, "Auditoria", "Revisar contratos", "Trabalho");
+        gravar(nova);
+        busca.onTaskChanged(TaskChangedEvent.criada(nova));
+        assertEquals(List.of(4L), ids(busca.buscar("auditoria", null, PageRequest.of(0, 10))));
+        
+        Task alterada = task(4L, "Auditoria externa", "Revisar fornecedores", "Trabalho");
+        gravar(alterada);
+        busca.onTaskChanged(TaskChangedEvent.atualizada(alterada, "Trabalho"));
+        assertTrue(busca.buscar("contratos", null, PageRequest.of(0, 10)).isEmpty());
+        assertEquals(List.of(4L), ids(busca.buscar("fornecedores", null, PageRequest.of(0, 10))));
+        
+        banco.remove(4L);
+        busca.onTaskChanged(TaskChangedEvent.excluida(4L, "Trabalho"));
+        assertTrue(busca.buscar("auditoria", null, PageRequest.of(0, 10)).isEmpty());
+    }
+    
+    @Test
+    void onTaskBatchChanged_ComExclusao_DeveRemoverDoIndice() {
+        busca.reconstruir();
+        
+        busca.onTaskBatchChanged(new TaskBatchChangedEvent(TaskChangedEvent.Tipo.EXCLUIDA, List.of(2L, 3L), List.of(),
+                Set.of("Trabalho")));
+        
+        assertEquals(List.of(1L), ids(busca.buscar("relatório", null, PageRequest.of(0, 10))));
+    }
+    
+    @Test
+    void buscar_AntesDaReconstrucao_DeveLancarExcecao() {
+        assertThrows(IndiceEmConstrucaoException.class, () -> busca.buscar("relatório", null, PageRequest.of(0, 10)));
+    }
+    
+    @Test
+    void buscar_SemTermosOuAlemDaJanela_DeveLancarExcecao() {
+        busca.reconstruir();
+        
+        assertThrows(IllegalArgumentException.class, () -> busca.buscar("  ", null, PageRequest.of(0, 10)));
+        assertThrows(IllegalArgumentException.class,
+                () -> busca.buscar("relatório", null, PageRequest.of(TaskBuscaService.JANELA_MAXIMA / 10, 10)));
+    }
+    
+    @Test
+    void documentos_DeveContinuarLegivelDepoisDeFecharOIndice() {
+        busca.reconstruir();
+        busca.onTaskChanged(TaskChangedEvent.excluida(1L, "Casa"));
+        
+        busca.stop();
+        
+        assertEquals(2.0, meterRegistry.get("taskmaster.busca.documentos").gauge().value());
+    }
+    
+    private List<Long> ids(Page<Task> pagina) {
+        return pagina.getContent().stream().map(Task::getId).toList();
+    }
+    
+    private void gravar(Task task) {
+        banco.put(task.getId(), task);
+    }
+    
+    private Task task(Long id, String titulo, String descricao, String categoria) {
+        Task task = new Task(titulo, descricao, categoria, LocalDate.now().plusDays(1));
+        task.setId(id);
+        return task;
+    }
+}
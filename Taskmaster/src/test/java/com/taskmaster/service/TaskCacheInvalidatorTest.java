@@ -0,0 +1,104 @@
+package com.taskmaster.service;
+
+import com.taskmaster.config.CacheConfig;
+import com.taskmaster.model.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskCacheInvalidatorTest {
+    
+    private Cache tarefas;
+    private Cache tarefasPorCategoria;
+    private TaskCacheInvalidator invalidator;
+    private Task task;
+    
+    @BeforeEach
+    void setUp() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(CacheConfig.TAREFAS, CacheConfig.TAREFAS_POR_CATEGORIA);
+        tarefas = cacheManager.getCache(CacheConfig.TAREFAS);
+        tarefasPorCategoria = cacheManager.getCache(CacheConfig.TAREFAS_POR_CATEGORIA);
+        invalidator = new TaskCacheInvalidator(cacheManager);
+        
+        task = new Task("Tarefa", null, "Trabalho", LocalDate.now().plusDays(1));
+        task.setId(1L);
+    }
+    
+    @Test
+    void atualizacao_DeveInvalidarTarefaECategoriasAntigaENova() {
+        Pageable pageable = PageRequest.of(0, 10);
+        String chaveTrabalho = invalidator.chaveCategoria("Trabalho", pageable);
+        String chaveEstudo = invalidator.chaveCategoria("Estudo", pageable);
+        String chavePessoal = invalidator.chaveCategoria("Pessoal", pageable);
+        tarefas.put(1L, task);
+        tarefasPorCategoria.put(chaveTrabalho, "pagina");
+        tarefasPorCategoria.put(chaveEstudo, "pagina");
+        tarefasPorCategoria.put(chavePessoal, "pagina");
+        
+        invalidator.onTaskChanged(TaskChangedEvent.atualizada(task, "Estudo"));
+        
+        assertNull(tarefas.get(1L));
+        assertNull(tarefasPorCategoria.get(chaveTrabalho));
+        assertNull(tarefasPorCategoria.get(chaveEstudo));
+        assertNotNull(tarefasPorCategoria.get(chavePessoal));
+        assertNotEquals(chaveTrabalho, invalidator.chaveCategoria("Trabalho", pageable));
+        assertEquals(chavePessoal, invalidator.chaveCategoria("Pessoal", pageable));
+    }
+    
+    @Test
+    void exclusao_ComTarefaEmCache_DeveInvalidarApenasSuaCategoria() {
+        Pageable pageable = PageRequest.of(0, 10);
+        String chavePessoal = invalidator.chaveCategoria("Pessoal", pageable);
+        tarefas.put(1L, task);
+        tarefasPorCategoria.put(chavePessoal, "pagina");
+        
+        invalidator.onTaskChanged(TaskChangedEvent.excluida(1L, null));
+        
+        assertNull(tarefas.get(1L));
+        assertNotNull(tarefasPorCategoria.get(chavePessoal));
+    }
+    
+    @Test
+    void exclusao_ComCategoriaDoComando_DeveManterAsPaginasDasOutrasCategorias() {
+        Pageable pageable = PageRequest.of(0, 10);
+        String chaveTrabalho = invalidator.chaveCategoria("Trabalho", pageable);
+        String chavePessoal = invalidator.chaveCategoria("Pessoal", pageable);
+        tarefasPorCategoria.put(chaveTrabalho, "pagina");
+        tarefasPorCategoria.put(chavePessoal, "pagina");
+        
+        invalidator.onTaskChanged(TaskChangedEvent.excluida(1L, "Trabalho"));
+        
+        assertNull(tarefasPorCategoria.get(chaveTrabalho));
+        assertNotNull(tarefasPorCategoria.get(chavePessoal));
+        assertEquals(chavePessoal, invalidator.chaveCategoria("Pessoal", pageable));
+    }
+    
+    @Test
+    void exclusao_SemCategoriaConhecida_DeveInvalidarTodasAsCategorias() {
+        Pageable pageable = PageRequest.of(0, 10);
+        String chavePessoal = invalidator.chaveCategoria("Pessoal", pageable);
+        tarefasPorCategoria.put(chavePessoal, "pagina");
+        
+        invalidator.onTaskChanged(TaskChangedEvent.excluida(1L, null));
+        
+        assertNull(tarefasPorCategoria.get(chavePessoal));
+        assertNotEquals(chavePessoal, invalidator.chaveCategoria("Pessoal", pageable));
+    }
+    
+    @Test
+    void criacao_DeveDescartarAusenciaEmCacheDoMesmoId() {
+        tarefas.put(1L, null);
+        assertNotNull(tarefas.get(1L));
+        
+        invalidator.onTaskChanged(TaskChangedEvent.criada(task));
+        
+        assertNull(tarefas.get(1L));
+    }
+}
@@ -0,0 +1,169 @@
+package com.taskmaster.service;
+
+import com.taskmaster.dto.BatchResultDTO;
+import com.taskmaster.dto.IngestaoStatusDTO;
+import com.taskmaster.dto.TaskDTO;
+import com.taskmaster.exception.BatchItemError;
+import com.taskmaster.exception.BatchValidationException;
+import com.taskmaster.exception.FilaCheiaException;
+import com.taskmaster.exception.ResourceNotFoundException;
+import com.taskmaster.model.Task;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.*;
+
+class TaskIngestaoServiceTest {
+    
+    private TaskService taskService;
+    private TaskBatchService taskBatchService;
+    
+    @BeforeEach
+    void setUp() {
+        taskService = mock(TaskService.class);
+        taskBatchService = mock(TaskBatchService.class);
+    }
+    
+    @Test
+    void enfileirar_DeveGravarEmLoteEMarcarComoGravada() {
+        AtomicLong proximoId = new AtomicLong(1);
+        when(taskBatchService.criarTarefasEmLote(anyList())).thenAnswer(invocation -> {
+            List<?> dtos = invocation.getArgument(0);
+            long inicio = proximoId.getAndAdd(dtos.size());
+            return new BatchResultDTO(LongStream.range(inicio, inicio + dtos.size()).boxed().toList());
+        });
+        TaskIngestaoService ingestao = criar(100, 2);
+        ingestao.start();
+        
+        IngestaoStatusDTO primeira = ingestao.enfileirar(dto("Primeira"));
+        IngestaoStatusDTO segunda = ingestao.enfileirar(dto("Segunda"));
+        ingestao.stop();
+        
+        assertEquals(IngestaoStatusDTO.Status.PENDENTE, primeira.getStatus());
+        assertEquals(IngestaoStatusDTO.Status.GRAVADA, ingestao.consultar(primeira.getId()).getStatus());
+        assertEquals(IngestaoStatusDTO.Status.GRAVADA, ingestao.consultar(segunda.getId()).getStatus());
+        assertNotEquals(ingestao.consultar(primeira.getId()).getTaskId(), ingestao.consultar(segunda.getId()).getTaskId());
+        verify(taskService, never()).criarTarefa(any());
+    }
+    
+    @Test
+    void enfileirar_ComFilaCheia_DeveLancarExcecao() {
+        when(taskBatchService.criarTarefasEmLote(anyList())).thenReturn(new BatchResultDTO(List.of(1L)));
+        TaskIngestaoService ingestao = criar(1, 0);
+        ingestao.start();
+        
+        IngestaoStatusDTO aceita = ingestao.enfileirar(dto("Aceita"));
+        
+        assertThrows(FilaCheiaException.class, () -> ingestao.enfileirar(dto("Recusada")));
+        ingestao.stop();
+        assertEquals(IngestaoStatusDTO.Status.GRAVADA, ingestao.consultar(aceita.getId()).getStatus());
+    }
+    
+    @Test
+    void stop_DeveEsvaziarAFilaAntesDeEncerrar() {
+        when(taskBatchService.criarTarefasEmLote(anyList())).thenAnswer(invocation -> {
+            List<?> dtos = invocation.getArgument(0);
+            return new BatchResultDTO(LongStream.rangeClosed(1, dtos.size()).boxed().toList());
+        });
+        TaskIngestaoService ingestao = criar(10, 0);
+        ingestao.start();
+        List<IngestaoStatusDTO> aceitas = List.of(ingestao.enfileirar(dto("A")), ingestao.enfileirar(dto("B")),
+                ingestao.enfileirar(dto("C")));
+        
+        ingestao.stop();
+        
+        for (IngestaoStatusDTO aceita : aceitas) {
+            assertEquals(IngestaoStatusDTO.Status.GRAVADA, ingestao.consultar(aceita.getId()).getStatus());
+        }
+        assertThrows(FilaCheiaException.class, () -> ingestao.enfileirar(dto("Depois")));
+    }
+    
+    @Test
+    void stop_ComProdutoresConcorrentes_NaoDeveDeixarPedidoAceitoNaFila() throws Exception {
+        when(taskBatchService.criarTarefasEmLote(anyList())).thenAnswer(invocation -> {
+            List<?> dtos = invocation.getArgument(0);
+            return new BatchResultDTO(LongStream.rangeClosed(1, dtos.size()).boxed().toList());
+        });
+        TaskIngestaoService ingestao = criar(1000, 1);
+        ingestao.start();
+        List<IngestaoStatusDTO> aceitas = new CopyOnWriteArrayList<>();
+        List<Thread> produtores = new ArrayList<>();
+        for (int p = 0; p < 4; p++) {
+            Thread produtor = new Thread(() -> {
+                for (int i = 0; i < 200; i++) {
+                    try {
+                        aceitas.add(ingestao.enfileirar(dto("Concorrente " + i)));
+                    } catch (FilaCheiaException e) {
+                        return;
+                    }
+                }
+            });
+            produtores.add(produtor);
+            produtor.start();
+        }
+        
+        ingestao.stop();
+        for (Thread produtor : produtores) {
+            produtor.join();
+        }
+        
+        for (IngestaoStatusDTO aceita : aceitas) {
+            assertEquals(IngestaoStatusDTO.Status.GRAVADA, ingestao.consultar(aceita.getId()).getStatus());
+        }
+    }
+    
+    @Test
+    void gravar_ComLoteRecusado_DeveGravarUmAUmEMarcarFalhas() {
+        TaskDTO valida = dto("Válida");
+        TaskDTO invalida = dto("Inválida");
+        Task gravada = new Task("Válida", null, "Teste", valida.getDataLimite());
+        gravada.setId(7L);
+        when(taskBatchService.criarTarefasEmLote(anyList()))
+                .thenThrow(new BatchValidationException(List.of(new BatchItemError(1, null, "inválida"))));
+        when(taskService.criarTarefa(same(valida))).thenReturn(gravada);
+        when(taskService.criarTarefa(same(invalida))).thenThrow(new IllegalArgumentException("A data limite não pode ser no passado"));
+        TaskIngestaoService ingestao = criar(10, 0);
+        ingestao.start();
+        IngestaoStatusDTO primeira = ingestao.enfileirar(valida);
+        IngestaoStatusDTO segunda = ingestao.enfileirar(invalida);
+        
+        ingestao.stop();
+        
+        assertEquals(7L, ingestao.consultar(primeira.getId()).getTaskId());
+        IngestaoStatusDTO falha = ingestao.consultar(segunda.getId());
+        assertEquals(IngestaoStatusDTO.Status.FALHOU, falha.getStatus());
+        assertEquals("A data limite não pode ser no passado", falha.getMensagem());
+    }
+    
+    @Test
+    void consultar_ComIdDesconhecido_DeveLancarExcecao() {
+        TaskIngestaoService ingestao = criar(10, 0);
+        
+        assertThrows(ResourceNotFoundException.class, () -> ingestao.consultar("desconhecido"));
+    }
+    
+    private TaskIngestaoService criar(int capacidade, int escritores) {
+        return new TaskIngestaoService(taskService, taskBatchService, new SimpleMeterRegistry(),
+                capacidade, escritores, 500, Duration.ZERO, Duration.ofMinutes(1), 10_000);
+    }
+    
+    private TaskDTO dto(String titulo) {
+        TaskDTO dto = new TaskDTO();
+        dto.setTitulo(titulo);
+        dto.setCategoria("Teste");
+        dto.setDataLimite(LocalDate.now().plusDays(1));
+        return dto;
+    }
+}
@@ -0,0 +1,88 @@
+package com.taskmaster.service;
+
+import com.taskmaster.model.Task;
+import com.taskmaster.repository.CategoriaDicionario;
+import com.taskmaster.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+
+@DataJpaTest
+@Import({TaskService.class, CategoriaDicionario.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskServiceReadOnlyTest {
+    
+    @Autowired
+    private TaskService taskService;
+    
+    @SpyBean
+    private TaskRepository taskRepository;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    private final List<String> estados = new ArrayList<>();
+    
+    @Test
+    void listarTarefas_DeveExecutarEmTransacaoSomenteLeitura() {
+        doAnswer(invocation -> registrarEstado(Page.empty())).when(taskRepository).findAll(any(Pageable.class));
+        
+        taskService.listarTarefas(PageRequest.of(0, 10));
+        
+        assertEquals(List.of("readOnly=true flush=MANUAL defaultReadOnly=true"), estados);
+    }
+    
+    @Test
+    void filtrarPorCategoria_DeveExecutarEmTransacaoSomenteLeitura() {
+        doAnswer(invocation -> registrarEstado(Page.empty()))
+                .when(taskRepository).findByCategoria(anyString(), any(Pageable.class));
+        
+        taskService.filtrarPorCategoria("Trabalho", PageRequest.of(0, 10));
+        
+        assertEquals(List.of("readOnly=true flush=MANUAL defaultReadOnly=true"), estados);
+    }
+    
+    @Test
+    void buscarPorId_DeveExecutarEmTransacaoSomenteLeitura() {
+        Task task = new Task("Tarefa", "Descrição", "Trabalho", LocalDate.now().plusDays(1));
+        doAnswer(invocation -> registrarEstado(Optional.of(task))).when(taskRepository).findById(anyLong());
+        
+        Task encontrada = taskService.buscarPorId(1L).orElseThrow();
+        
+        assertEquals("Tarefa", encontrada.getTitulo());
+        assertEquals(List.of("readOnly=true flush=MANUAL defaultReadOnly=true"), estados);
+    }
+    
+    private <T> T registrarEstado(T resultado) {
+        assertTrue(TransactionSynchronizationManager.isActualTransactionActive());
+        Session session = entityManager.unwrap(Session.class);
+        estados.add("readOnly=" + TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                + " flush=" + session.getHibernateFlushMode()
+                + " defaultReadOnly=" + session.isDefaultReadOnly());
+        return resultado;
+    }
+}
+
@@ -0,0 +1,109 @@
+package com.taskmaster.service;
+
+import com.taskmaster.dto.TaskDTO;
+import com.taskmaster.exception.ResourceNotFoundException;
+import com.taskmaster.exception.VersionConflictException;
+import com.taskmaster.model.Task;
+import com.taskmaster.repository.CategoriaDicionario;
+import com.taskmaster.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({TaskService.class, CategoriaDicionario.class})
+@RecordApplicationEvents
+class TaskServiceStatementCountTest {
+    
+    @Autowired
+    private TaskService taskService;
+    
+    @Autowired
+    private TaskRepository taskRepository;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Autowired
+    private ApplicationEvents eventos;
+    
+    private Statistics statistics;
+    private Task task;
+    
+    @BeforeEach
+    void setUp() {
+        task = taskRepository.saveAndFlush(new Task("Tarefa", "Descrição", "Trabalho", LocalDate.now().plusDays(1)));
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+    
+    @Test
+    void excluirTarefa_DeveExecutarUmUnicoComandoEPublicarACategoria() {
+        taskService.excluirTarefa(task.getId());
+        
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertFalse(taskRepository.existsById(task.getId()));
+        assertEquals(List.of("Trabalho"), eventos.stream(TaskChangedEvent.class)
+                .map(TaskChangedEvent::getCategoriaAnterior).toList());
+    }
+    
+    @Test
+    void excluirTarefa_ComIdInexistente_DeveExecutarUmUnicoComando() {
+        assertThrows(ResourceNotFoundException.class, () -> taskService.excluirTarefa(task.getId() + 1000));
+        
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+    
+    @Test
+    void atualizarTarefa_ComVersao_DeveExecutarUmUnicoComando() {
+        TaskDTO dto = new TaskDTO("Tarefa atualizada", null, "Estudo", LocalDate.now().plusDays(2));
+        dto.setVersao(task.getVersao());
+        
+        Task atualizada = taskService.atualizarTarefa(task.getId(), dto);
+        
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(task.getVersao() + 1, atualizada.getVersao());
+        assertEquals("Estudo", taskRepository.findById(task.getId()).orElseThrow().getCategoria());
+    }
+    
+    @Test
+    void atualizarTarefa_ComVersaoDesatualizada_DeveLancarConflitoSemAlterar() {
+        TaskDTO dto = new TaskDTO("Tarefa atualizada", null, "Estudo", LocalDate.now().plusDays(2));
+        dto.setVersao(task.getVersao() + 1);
+        
+        assertThrows(VersionConflictException.class, () -> taskService.atualizarTarefa(task.getId(), dto));
+        
+        assertEquals("Trabalho", taskRepository.findById(task.getId()).orElseThrow().getCategoria());
+    }
+    
+    @Test
+    void atualizarTarefa_SemVersao_DeveCarregarEAtualizarSemMerge() {
+        TaskDTO dto = new TaskDTO("Tarefa atualizada", null, "Estudo", LocalDate.now().plusDays(2));
+        
+        Task atualizada = taskService.atualizarTarefa(task.getId(), dto);
+        entityManager.flush();
+        
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(task.getVersao() + 1, atualizada.getVersao());
+    }
+}
+
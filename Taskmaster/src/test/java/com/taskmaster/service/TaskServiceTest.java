@@ -1,27 +1,41 @@
 package com.taskmaster.service;
 
+import com.taskmaster.dto.ContagemPrazo;
+import com.taskmaster.dto.CursorPage;
 import com.taskmaster.dto.TaskDTO;
+import com.taskmaster.dto.TaskEstatisticasDTO;
+import com.taskmaster.dto.TaskResumo;
 import com.taskmaster.exception.ResourceNotFoundException;
+import com.taskmaster.exception.VersionConflictException;
 import com.taskmaster.model.Task;
+import com.taskmaster.repository.CategoriaDicionario;
 import com.taskmaster.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +44,15 @@ class TaskServiceTest {
     @Mock
     private TaskRepository taskRepository;
     
+    @Mock
+    private CategoriaDicionario categoriaDicionario;
+    
+    @Mock
+    private EntityManager entityManager;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
     @InjectMocks
     private TaskService taskService;
     
@@ -61,6 +84,7 @@ class TaskServiceTest {
         assertNotNull(resultado);
         assertEquals("Tarefa de Teste", resultado.getTitulo());
         verify(taskRepository, times(1)).save(any(Task.class));
+        verify(eventPublisher, times(1)).publishEvent(any(TaskChangedEvent.class));
     }
     
     @Test
@@ -98,24 +122,73 @@ class TaskServiceTest {
     }
     
     @Test
-    void excluirTarefa_ComIdExistente_DeveExcluirComSucesso() {
+    void atualizarTarefa_ComVersao_DeveAtualizarSemCarregarATarefa() {
+        taskDTO.setVersao(3L);
+        when(categoriaDicionario.registrar(taskDTO.getCategoria())).thenReturn(1);
+        when(categoriaDicionario.nomeDe(2)).thenReturn("Pessoal");
+        when(taskRepository.updateTaskIfVersionMatches(1L, 3L, taskDTO.getTitulo(), taskDTO.getDescricao(),
+                1, taskDTO.getDataLimite())).thenReturn(Optional.of(2));
+        
+        Task resultado = taskService.atualizarTarefa(1L, taskDTO);
+        
+        assertEquals(1L, resultado.getId());
+        assertEquals(4L, resultado.getVersao());
+        verify(taskRepository, never()).findById(anyLong());
+        verify(taskRepository, never()).save(any(Task.class));
+        ArgumentCaptor<TaskChangedEvent> evento = ArgumentCaptor.forClass(TaskChangedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(evento.capture());
+        assertEquals("Pessoal", evento.getValue().getCategoriaAnterior());
+    }
+    
+    @Test
+    void atualizarTarefa_ComVersaoDesatualizada_DeveLancarConflito() {
+        taskDTO.setVersao(3L);
+        when(taskRepository.updateTaskIfVersionMatches(eq(1L), eq(3L), any(), any(), anyInt(), any()))
+                .thenReturn(Optional.empty());
         when(taskRepository.existsById(1L)).thenReturn(true);
         
+        assertThrows(VersionConflictException.class, () -> {
+            taskService.atualizarTarefa(1L, taskDTO);
+        });
+        
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+    
+    @Test
+    void atualizarTarefa_ComVersaoEIdInexistente_DeveLancarExcecao() {
+        taskDTO.setVersao(3L);
+        when(taskRepository.updateTaskIfVersionMatches(eq(999L), eq(3L), any(), any(), anyInt(), any()))
+                .thenReturn(Optional.empty());
+        when(taskRepository.existsById(999L)).thenReturn(false);
+        
+        assertThrows(ResourceNotFoundException.class, () -> {
+            taskService.atualizarTarefa(999L, taskDTO);
+        });
+    }
+    
+    @Test
+    void excluirTarefa_ComIdExistente_DeveExcluirComSucesso() {
+        when(taskRepository.deleteTaskById(1L)).thenReturn(Optional.of(2));
+        when(categoriaDicionario.nomeDe(2)).thenReturn("Pessoal");
+        
         taskService.excluirTarefa(1L);
         
-        verify(taskRepository, times(1)).existsById(1L);
-        verify(taskRepository, times(1)).deleteById(1L);
+        verify(taskRepository, times(1)).deleteTaskById(1L);
+        verify(taskRepository, never()).existsById(anyLong());
+        ArgumentCaptor<TaskChangedEvent> evento = ArgumentCaptor.forClass(TaskChangedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(evento.capture());
+        assertEquals("Pessoal", evento.getValue().getCategoriaAnterior());
     }
     
     @Test
     void excluirTarefa_ComIdInexistente_DeveLancarExcecao() {
-        when(taskRepository.existsById(999L)).thenReturn(false);
+        when(taskRepository.deleteTaskById(999L)).thenReturn(Optional.empty());
         
         assertThrows(ResourceNotFoundException.class, () -> {
             taskService.excluirTarefa(999L);
         });
         
-        verify(taskRepository, never()).deleteById(anyLong());
+        verify(eventPublisher, never()).publishEvent(any());
     }
     
     @Test
@@ -133,16 +206,198 @@ class TaskServiceTest {
     }
     
     @Test
-    void filtrarPorCategoria_DeveRetornarTarefasDaCategoria() {
-        List<Task> tasks = Arrays.asList(task);
+    void filtrarPorCategoria_ComPaginacao_DeveRetornarPaginaDaCategoria() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<Task> page = new PageImpl<>(Arrays.asList(task));
+        
+        when(taskRepository.findByCategoria("Teste", pageable)).thenReturn(page);
+        
+        Page<Task> resultado = taskService.filtrarPorCategoria("Teste", pageable);
+        
+        assertEquals(1, resultado.getContent().size());
+    }
+    
+    @Test
+    void exportarPorCategoria_DeveEntregarCadaTarefaEDesanexarDoContexto() {
+        when(taskRepository.streamByCategoria("Teste")).thenReturn(Stream.of(task));
+        List<Task> exportadas = new ArrayList<>();
+        
+        taskService.exportarPorCategoria("Teste", exportadas::add);
+        
+        assertEquals(1, exportadas.size());
+        verify(entityManager, times(1)).detach(task);
+    }
+    
+    @Test
+    void calcularEstatisticas_DeveSomarOsTotaisDasCategorias() {
+        LocalDate hoje = LocalDate.of(2030, 1, 1);
+        when(taskRepository.contarPorCategoriaEPrazo(hoje, LocalDate.of(2030, 1, 8))).thenReturn(List.of(
+                new ContagemPrazo("Estudo", 2L, 1L, 0L, 1L, 0L),
+                new ContagemPrazo("Trabalho", 5L, 0L, 2L, 1L, 2L)));
         
-        when(taskRepository.findByCategoria("Teste")).thenReturn(tasks);
+        TaskEstatisticasDTO estatisticas = taskService.calcularEstatisticas(hoje);
         
-        List<Task> resultado = taskService.filtrarPorCategoria("Teste");
+        assertEquals(new ContagemPrazo(null, 7L, 1L, 2L, 2L, 2L), estatisticas.totais());
+        assertEquals(2, estatisticas.categorias().size());
+        assertEquals(hoje, estatisticas.data());
+    }
+    
+    @Test
+    void buscarPorIds_DeveManterAOrdemDosIdsEIgnorarOsAusentes() {
+        Task segunda = new Task();
+        segunda.setId(2L);
+        List<Long> ids = List.of(2L, 3L, 1L);
+        when(taskRepository.findAllById(ids)).thenReturn(Arrays.asList(task, segunda));
         
-        assertNotNull(resultado);
-        assertEquals(1, resultado.size());
-        verify(taskRepository, times(1)).findByCategoria("Teste");
+        List<Task> encontradas = taskService.buscarPorIds(ids);
+        
+        assertEquals(List.of(2L, 1L), encontradas.stream().map(Task::getId).toList());
+    }
+    
+    @Test
+    void listarTarefasPorCursor_ComMaisResultados_DeveRetornarProximoCursor() {
+        Task segunda = new Task();
+        segunda.setId(2L);
+        segunda.setDataLimite(LocalDate.now().plusDays(2));
+        
+        when(taskRepository.findKeysetFirstPage(Limit.of(2))).thenReturn(Arrays.asList(task, segunda));
+        
+        CursorPage<Task> resultado = taskService.listarTarefasPorCursor("", 1, null);
+        
+        assertEquals(1, resultado.getContent().size());
+        assertNotNull(resultado.getNextCursor());
+        
+        when(taskRepository.findKeysetPageAfter(task.getDataLimite(), 1L, Limit.of(2)))
+                .thenReturn(Arrays.asList(segunda));
+        
+        CursorPage<Task> proxima = taskService.listarTarefasPorCursor(resultado.getNextCursor(), 1, null);
+        
+        assertEquals(2L, proxima.getContent().get(0).getId());
+        assertNull(proxima.getNextCursor());
+        verify(taskRepository, never()).findAll(any(Pageable.class));
+    }
+    
+    @Test
+    void listarResumosPorCursor_DeveUsarConsultaDeResumoECodificarCursor() {
+        TaskResumo primeiro = new TaskResumo(1L, "Tarefa", "Teste", LocalDate.now().plusDays(1));
+        TaskResumo segundo = new TaskResumo(2L, "Outra", "Teste", LocalDate.now().plusDays(2));
+        
+        when(taskRepository.findResumoKeysetFirstPageByCategoria("Teste", Limit.of(2)))
+                .thenReturn(Arrays.asList(primeiro, segundo));
+        
+        CursorPage<TaskResumo> resultado = taskService.listarResumosPorCursor(null, 1, "Teste");
+        
+        assertEquals(List.of(primeiro), resultado.getContent());
+        
+        when(taskRepository.findResumoKeysetPageAfterByCategoria("Teste", primeiro.dataLimite(), 1L, Limit.of(2)))
+                .thenReturn(Arrays.asList(segundo));
+        
+        CursorPage<TaskResumo> proxima = taskService.listarResumosPorCursor(resultado.getNextCursor(), 1, "Teste");
+        
+        assertEquals(List.of(segundo), proxima.getContent());
+        assertFalse(proxima.isHasNext());
+        verify(taskRepository, never()).findKeysetFirstPageByCategoria(any(), any());
+    }
+    
+    @Test
+    void listarResumos_DeveValidarOrdenacaoEConsultarProjecao() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("titulo"));
+        Pageable esperado = PageRequest.of(0, 10, Sort.by("titulo", "id"));
+        TaskResumo resumo = new TaskResumo(1L, "Tarefa", "Teste", LocalDate.now().plusDays(1));
+        
+        when(taskRepository.findResumosBy(esperado)).thenReturn(new PageImpl<>(List.of(resumo)));
+        
+        Page<TaskResumo> resultado = taskService.listarResumos(pageable);
+        
+        assertEquals(resumo, resultado.getContent().get(0));
+        verify(taskRepository, never()).findAll(any(Pageable.class));
+    }
+    
+    @Test
+    void listarTarefasPorCursor_ComCursorInvalido_DeveLancarExcecao() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            taskService.listarTarefasPorCursor("nao-e-um-cursor", 10, null);
+        });
+    }
+    
+    @Test
+    void listarTarefas_ComCampoDeOrdenacaoPermitido_DeveDesempatarPorId() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "dataLimite"));
+        Pageable esperado = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "dataLimite", "id"));
+        
+        when(taskRepository.findAll(esperado)).thenReturn(new PageImpl<>(Arrays.asList(task)));
+        
+        Page<Task> resultado = taskService.listarTarefas(pageable);
+        
+        assertEquals(1, resultado.getContent().size());
+    }
+    
+    @Test
+    void listarTarefas_ComCampoDeOrdenacaoNaoPermitido_DeveLancarExcecao() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("descricao"));
+        
+        assertThrows(IllegalArgumentException.class, () -> {
+            taskService.listarTarefas(pageable);
+        });
+        
+        verify(taskRepository, never()).findAll(any(Pageable.class));
+    }
+    
+    @Test
+    void listarTarefas_AlemDaJanelaMaxima_DeveLancarExcecao() {
+        Pageable pageable = PageRequest.of(TaskService.JANELA_MAXIMA / 10, 10);
+        
+        assertThrows(IllegalArgumentException.class, () -> taskService.listarTarefas(pageable));
+        
+        verify(taskRepository, never()).findAll(any(Pageable.class));
+    }
+    
+    @Test
+    void filtrarPorPrazo_ComCategoria_DeveBuscarPorCategoriaEIntervalo() {
+        LocalDate de = LocalDate.now();
+        LocalDate ate = de.plusDays(7);
+        Pageable pageable = PageRequest.of(0, 10);
+        
+        when(taskRepository.findByCategoriaAndDataLimiteBetween("Teste", de, ate, pageable))
+                .thenReturn(new PageImpl<>(Arrays.asList(task)));
+        
+        Page<Task> resultado = taskService.filtrarPorPrazo(de, ate, "Teste", pageable);
+        
+        assertEquals(1, resultado.getContent().size());
+        verify(taskRepository, never()).findByDataLimiteBetween(any(), any(), any());
+    }
+    
+    @Test
+    void filtrarPorPrazo_SemInicio_DeveUsarIntervaloAberto() {
+        LocalDate ate = LocalDate.now().plusDays(7);
+        Pageable pageable = PageRequest.of(0, 10);
+        
+        when(taskRepository.findByDataLimiteBetween(LocalDate.of(1, 1, 1), ate, pageable))
+                .thenReturn(new PageImpl<>(Arrays.asList(task)));
+        
+        Page<Task> resultado = taskService.filtrarPorPrazo(null, ate, null, pageable);
+        
+        assertEquals(1, resultado.getContent().size());
+    }
+    
+    @Test
+    void filtrarPorPrazo_ComInicioDepoisDoFim_DeveLancarExcecao() {
+        LocalDate hoje = LocalDate.now();
+        
+        assertThrows(IllegalArgumentException.class, () -> {
+            taskService.filtrarPorPrazo(hoje, hoje.minusDays(1), null, PageRequest.of(0, 10));
+        });
+    }
+    
+    @Test
+    void listarVencendo_DeveBuscarDeHojeAteHojeMaisDias() {
+        LocalDate hoje = LocalDate.now();
+        Pageable pageable = PageRequest.of(0, 10);
+        
+        when(taskRepository.findByDataLimiteBetween(hoje, hoje.plusDays(3), pageable))
+                .thenReturn(new PageImpl<>(Arrays.asList(task)));
+        
+        assertEquals(1, taskService.listarVencendo(3, null, pageable).getContent().size());
+        assertThrows(IllegalArgumentException.class, () -> taskService.listarVencendo(-1, null, pageable));
     }
 }
-
@@ -0,0 +1,120 @@
+package com.taskmaster.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VersaoListagensTest {
+    
+    @Test
+    void versao_DeveMudarApenasParaAsListagensAfetadas() {
+        TransporteInvalidacaoLocal transporte = new TransporteInvalidacaoLocal();
+        VersaoListagens versoes = new VersaoListagens(transporte);
+        String todas = versoes.versao(null);
+        String trabalho = versoes.versao("Trabalho");
+        String pessoal = versoes.versao("Pessoal");
+        
+        transporte.publicar(new Invalidacao("a", List.of(1L), Set.of("Trabalho"), false));
+        
+        assertNotEquals(todas, versoes.versao(null));
+        assertNotEquals(trabalho, versoes.versao("Trabalho"));
+        assertEquals(pessoal, versoes.versao("Pessoal"));
+    }
+    
+    @Test
+    void versao_DeveSerAMesmaEmInstanciasQueReceberamAsMesmasInvalidacoesEmOrdemDiferente() {
+        TransporteManual transporteA = new TransporteManual();
+        TransporteManual transporteB = new TransporteManual();
+        VersaoListagens a = new VersaoListagens(transporteA);
+        VersaoListagens b = new VersaoListagens(transporteB);
+        Invalidacao primeira = new Invalidacao("x", List.of(1L), Set.of("Trabalho"), false, 1);
+        Invalidacao segunda = new Invalidacao("y", List.of(2L), Set.of("Trabalho"), false, 2);
+        
+        transporteA.entregar(segunda);
+        String comLacuna = a.versao("Trabalho");
+        transporteA.entregar(primeira);
+        transporteB.entregar(primeira);
+        transporteB.entregar(segunda);
+        
+        assertNotEquals(comLacuna, a.versao("Trabalho"));
+        assertEquals(a.versao("Trabalho"), b.versao("Trabalho"));
+        assertEquals(a.versao(null), b.versao(null));
+        
+        transporteA.consolidada = 2;
+        transporteB.consolidada = 2;
+        
+        assertEquals(a.versao("Trabalho"), b.versao("Trabalho"));
+        assertEquals(a.versao("Pessoal"), b.versao("Pessoal"));
+    }
+    
+    @Test
+    void versao_DeveMudarQuandoUmaSequenciaChegaDepoisDeUmaMaior() {
+        TransporteManual transporte = new TransporteManual();
+        VersaoListagens versoes = new VersaoListagens(transporte);
+        
+        transporte.entregar(new Invalidacao("x", List.of(3L), Set.of("Trabalho"), false, 3));
+        String antes = versoes.versao("Trabalho");
+        transporte.entregar(new Invalidacao("x", List.of(2L), Set.of("Trabalho"), false, 2));
+        
+        assertNotEquals(antes, versoes.versao("Trabalho"));
+    }
+    
+    @Test
+    void versao_DeveConsiderarSequenciasAbandonadasComoAlteracaoDeTodasAsCategorias() {
+        TransporteManual transporte = new TransporteManual();
+        VersaoListagens versoes = new VersaoListagens(transporte);
+        String pessoal = versoes.versao("Pessoal");
+        
+        transporte.consolidada = 5;
+        
+        assertNotEquals(pessoal, versoes.versao("Pessoal"));
+    }
+    
+    @Test
+    void receber_DeveIgnorarEntregasRepetidas() {
+        TransporteManual transporte = new TransporteManual();
+        VersaoListagens versoes = new VersaoListagens(transporte);
+        Invalidacao invalidacao = new Invalidacao("x", List.of(1L), Set.of("Trabalho"), false, 2);
+        
+        transporte.entregar(invalidacao);
+        String versao = versoes.versao("Trabalho");
+        transporte.entregar(invalidacao);
+        
+        assertEquals(versao, versoes.versao("Trabalho"));
+    }
+    
+    private static final class TransporteManual implements TransporteInvalidacao {
+        
+        private final List<Consumer<Invalidacao>> destinos = new ArrayList<>();
+        private long consolidada;
+        
+        @Override
+        public void publicar(Invalidacao invalidacao) {
+            throw new UnsupportedOperationException();
+        }
+        
+        @Override
+        public void assinar(Consumer<Invalidacao> destino) {
+            destinos.add(destino);
+        }
+        
+        @Override
+        public long consolidada() {
+            return consolidada;
+        }
+        
+        @Override
+        public String epoca() {
+            return "";
+        }
+        
+        private void entregar(Invalidacao invalidacao) {
+            destinos.forEach(destino -> destino.accept(invalidacao));
+        }
+    }
+}